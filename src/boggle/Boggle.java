@@ -1,13 +1,15 @@
 package boggle;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
@@ -15,7 +17,10 @@ import org.jgrapht.graph.DefaultUndirectedGraph;
 import org.jgrapht.graph.SimpleGraph;
 
 import models.Dice;
+import models.FoundWord;
 import tree.LexicographicTree;
+import tree.TrieCursor;
+import tree.WordDictionary;
 
 public class Boggle {
 	
@@ -26,8 +31,39 @@ public class Boggle {
 	private static final double[] FREQUENCY = new double[]{8.70, 0.93, 3.15, 3.55, 17.9, 0.96, 0.97,
 			1.08, 6.97, 0.71, 0.16, 5.68, 3.23, 6.42, 5.34, 3.03, 0.89, 6.43, 7.91, 7.11, 6.14, 1.83, 0.04, 0.42, 0.19, 0.21};
 	
-	private LexicographicTree tree;
-	private Graph<Dice, DefaultEdge> grid = new SimpleGraph<>(DefaultEdge.class);
+	// number of starting cells searched by a task of solveInParallel without splitting it again
+	private static final int PARALLEL_THRESHOLD = 16;
+	// from this number of cells, solve() follows the branches of the tree instead of the paths of the grid
+	private static final int WORDS_STRATEGY_MIN_CELLS = 2500;
+	
+	/**
+	 * The ways to search the words of the grid.
+	 */
+	public enum SolveStrategy {
+		// follow the paths of the grid from every cell, and the tree along them
+		PATHS,
+		// follow the branches of the tree, and the cells of the grid where their prefix can end
+		WORDS
+	}
+	
+	private WordDictionary tree;
+	private int size;
+	// the cells are numbered row by row, cell i is at row i / size and column i % size
+	private char[] letters;
+	// the neighbors of the cells, used by the PATHS search
+	private GridLayout layout;
+	// the neighbors of the cell i are neighbors[neighborStart[i]] to neighbors[neighborStart[i + 1] - 1]
+	private int[] neighborStart;
+	private int[] neighbors;
+	// the different letters of the grid, sorted, letterOf[i] is the index of the letter of the cell i in alphabet
+	private char[] alphabet;
+	private int[] letterOf;
+	private int[][] cellsOfLetter;
+	// adjacentLetters[a][b] is true if a cell with the letter b is next to a cell with the letter a somewhere in the grid
+	private boolean[][] adjacentLetters;
+	private SolveStrategy lastStrategy;
+	// the PATHS search of each thread, so the tasks of solveInParallel run by the same worker share its cursor and buffers
+	private final ThreadLocal<PathSearch> pathSearches = ThreadLocal.withInitial(() -> new PathSearch(tree));
 	
 	/*
 	 * CONSTRUCTORS
@@ -38,21 +74,18 @@ public class Boggle {
 	 * @param size The size of the squared grid
 	 * @param dict A dictionary of allowed words
 	 */
-	public Boggle(int size, LexicographicTree dict) {
+	public Boggle(int size, WordDictionary dict) {
 		tree = dict;
 		
 		if(size < 1) throw new IllegalArgumentException("L'argument size ne peut pas être inférieur à 1");
 		
-		//create an array to make the edges
-		Dice[][] tab = new Dice[size][size];
+		char[] letters = new char[size * size];
 		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				tab[i][j] = new Dice(randomLetterBasedOnFrequency());
-			}
+		for(int i = 0; i < letters.length; i++) {
+			letters[i] = randomLetterBasedOnFrequency();
 		}
 		
-		fillGraph(tab);
+		fillGrid(size, letters);
 	}
 	
 	/**
@@ -61,22 +94,13 @@ public class Boggle {
 	 * @param letters A string containing the (size x size) letters used to fill the grid
 	 * @param dict A dictionary of allowed words
 	 */
-	public Boggle(int size, String letters, LexicographicTree dict) {
+	public Boggle(int size, String letters, WordDictionary dict) {
 		tree = dict;
 		
 		if(size < 1) throw new IllegalArgumentException("L'argument size ne peut pas être inférieur à 1");
 		if(letters.length() < size*size) throw new IllegalArgumentException("L'argument letter ne comporte pas assez de lettres");;
 		
-		Dice[][] tab = new Dice[size][size];
-		int count = 0;
-		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				tab[i][j] = new Dice(letters.charAt(count++));
-			}
-		}
-		
-		fillGraph(tab);
+		fillGrid(size, letters.substring(0, size * size).toCharArray());
 	}
 	
 	/*
@@ -88,11 +112,7 @@ public class Boggle {
 	 * @return a string of letters
 	 */
 	public String letters() {
-		String letters = "";
-		for(var vertex : grid.vertexSet()) {
-			letters += vertex.getLetter();
-		}
-		return letters; 
+		return new String(letters);
 	}
 	
 	/**
@@ -105,17 +125,10 @@ public class Boggle {
 		if(!word.matches("[a-zA-Z]+")) return false;
 		if(word.length() < 3) return false;
 		
-		HashSet <Dice> visited = new HashSet<Dice>();
+		long[] visited = new long[(letters.length + 63) / 64];
 		
-		for(var vertex : grid.vertexSet()) {
-			
-			if(vertex.getLetter() == word.charAt(0)) {
-				visited.add(vertex);
-				
-				if(containsRecursive(word.substring(1), vertex, visited)) return true;
-				
-				visited.remove(vertex);
-			}
+		for(int cell = 0; cell < letters.length; cell++) {
+			if(letters[cell] == word.charAt(0) && containsRecursive(word, 1, cell, visited)) return true;
 		}
 		
 		return false;
@@ -123,17 +136,92 @@ public class Boggle {
 
 	/**
 	 * Searches for words in the Boggle grid.
+	 * The strategy depends on the size of the grid, getLastStrategy() tells which one was used.
 	 * @return the set of found words
 	 */
 	public Set<String> solve() {
-		Set<String> words = new HashSet<String>();
+		return solve(defaultStrategy());
+	}
+	
+	/**
+	 * Searches for words in the Boggle grid with the given strategy.
+	 * @param strategy the way to search the words
+	 * @return the set of found words
+	 */
+	public Set<String> solve(SolveStrategy strategy) {
+		if(strategy == null) throw new IllegalArgumentException("L'argument strategy ne doit pas etre null");
+		
+		Hits hits = new Hits();
+		search(strategy, hits);
+		return hits.words;
+	}
+	
+	/**
+	 * Searches for words in the Boggle grid, with their score and the cells used to make them.
+	 * The strategy depends on the size of the grid, like solve().
+	 * @return the found words, from the highest score to the lowest, in alphabetic order for the same score
+	 */
+	public List<FoundWord> solveWithScores() {
+		return solveWithScores(Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Searches for the words of the Boggle grid that have the highest scores, with the cells used to make them.
+	 * Only the best words are kept during the search, so a word that cannot be in them does not create any object.
+	 * @param limit the maximum number of words
+	 * @return the limit best words, from the highest score to the lowest, in alphabetic order for the same score
+	 */
+	public List<FoundWord> solveWithScores(int limit) {
+		if(limit < 0) throw new IllegalArgumentException("L'argument limit doit etre positif");
+		if(limit == 0) return new ArrayList<FoundWord>();
+		
+		Hits hits = new Hits(limit);
+		search(defaultStrategy(), hits);
+		return hits.best();
+	}
+	
+	/**
+	 * 
+	 * @return the strategy used by the last search (solve, solveWithScores or solveInParallel), null if the grid was never solved
+	 */
+	public SolveStrategy getLastStrategy() {
+		return lastStrategy;
+	}
+	
+	/**
+	 * Searches for words in the Boggle grid with the threads of the common ForkJoinPool,
+	 * the starting cells are split between tasks, each worker thread keeps its own cursor and visited cells and each task its own words.
+	 * It always follows the paths of the grid (SolveStrategy.PATHS), whatever the size of the grid,
+	 * because the starting cells are what is split between the tasks.
+	 * The dictionary must not be modified during the search.
+	 * @return the set of found words
+	 */
+	public Set<String> solveInParallel() {
+		lastStrategy = SolveStrategy.PATHS;
+		return ForkJoinPool.commonPool().invoke(new SolveTask(0, letters.length));
+	}
+	
+	/**
+	 * Builds a graph of the grid, each dice is linked to its (up to 8) neighbors.
+	 * The graph is not used to search the words, it is created again at each call.
+	 * @return a graph of the dices of the grid
+	 */
+	public Graph<Dice, DefaultEdge> toGraph() {
+		Graph<Dice, DefaultEdge> grid = new SimpleGraph<>(DefaultEdge.class);
+		Dice[] dices = new Dice[letters.length];
 		
-		for(var vertex : grid.vertexSet()) {
-			//get all the words that is possible to make when we start from each dice
-			words.addAll(solveRecursive(new HashSet<String>(),vertex, ""));
-		}	
+		for(int cell = 0; cell < letters.length; cell++) {
+			dices[cell] = new Dice(letters[cell]);
+			grid.addVertex(dices[cell]);
+		}
 		
-		return words;
+		for(int cell = 0; cell < letters.length; cell++) {
+			for(int i = neighborStart[cell]; i < neighborStart[cell + 1]; i++) {
+				//each edge is seen from its two cells, it is added only once
+				if(neighbors[i] > cell) grid.addEdge(dices[cell], dices[neighbors[i]]);
+			}
+		}
+		return grid;
 	}
 	
 	/**
@@ -141,17 +229,13 @@ public class Boggle {
 	 * @return a textual representation of the Boggle grid
 	 */
 	public String toString() {
-		String gridString = "";
-		int size = (int) Math.sqrt(grid.vertexSet().size());
-		Iterator<Dice> it = grid.vertexSet().iterator();
+		StringBuilder gridString = new StringBuilder(letters.length + size);
 		
 		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				gridString += it.next().getLetter();
-			}
-			if(i != size - 1) gridString += '\n';
+			gridString.append(letters, i * size, size);
+			if(i != size - 1) gridString.append('\n');
 		}
-		return gridString;
+		return gridString.toString();
 	}
 
 	/*
@@ -162,7 +246,7 @@ public class Boggle {
 	 * Generate a letter with a random based on each letter frequency 
 	 * @return a letter
 	 */
-	private char randomLetterBasedOnFrequency() {
+	static char randomLetterBasedOnFrequency() {
 		// random number between 0.00 and 100.00
 		double random = Math.floor(Math.random() * 10000) / 100.0;
         double sum = 0;
@@ -182,148 +266,330 @@ public class Boggle {
     }
 	
 	
+	
 	/**
-	 * fill the graph with the help of the array to know the neighbors of each Dice
-	 * @param letters the Dice's arrays that contains the letters of the grid
+	 * fill the arrays of the grid
+	 * @param size the size of the squared grid
+	 * @param letters the letters of the grid, row by row
 	 */
-	private void fillGraph(Dice[][] letters) {
+	private void fillGrid(int size, char[] letters) {
+		this.size = size;
+		this.letters = letters;
 		
-		for(var row : letters) {
-			for(var letter : row) {
-				grid.addVertex(letter);
-			}
+		//the neighbors only depend on the size, they are shared with the other grids of this size when it is small
+		this.layout = GridLayout.of(size);
+		this.neighborStart = layout.neighborStart;
+		this.neighbors = layout.neighbors;
+		
+		indexLetters();
+	}
+	
+	/**
+	 * fill alphabet, letterOf, cellsOfLetter and adjacentLetters, used by the WORDS strategy
+	 */
+	private void indexLetters() {
+		char[] sorted = letters.clone();
+		Arrays.sort(sorted);
+		int distinct = 0;
+		for(int i = 0; i < sorted.length; i++) {
+			if(i == 0 || sorted[i] != sorted[i - 1]) sorted[distinct++] = sorted[i];
 		}
+		alphabet = Arrays.copyOf(sorted, distinct);
 		
-		for(int i = 0; i < letters.length; i++) {
-			for(int j = 0; j < letters.length; j++) {
-				 
-				//check that the edge is not already in the graph
-				if(i > 0 && !gridContainsEdge(letters[i][j], letters[i-1][j]) ) {
-					grid.addEdge(letters[i][j], letters[i-1][j]);
-				}
-				if(i < letters.length-1 && !gridContainsEdge(letters[i][j], letters[i+1][j]) ) {
-					grid.addEdge(letters[i][j], letters[i+1][j]);
-				}
-				if(j > 0 && !gridContainsEdge(letters[i][j], letters[i][j-1]) ) {
-					grid.addEdge(letters[i][j], letters[i][j-1]);
-				}
-				if(j < letters.length-1 && !gridContainsEdge(letters[i][j], letters[i][j+1]) ) {
-					grid.addEdge(letters[i][j], letters[i][j+1]);
-				}
-				
-				if(i < letters.length-1 && j < letters.length-1 && !gridContainsEdge(letters[i][j], letters[i+1][j+1]) ) {
-					grid.addEdge(letters[i][j], letters[i+1][j+1]);
-				}
-				if(i > 0 && j < letters.length-1 && !gridContainsEdge(letters[i][j], letters[i-1][j+1]) ) {
-					grid.addEdge(letters[i][j], letters[i-1][j+1]);
-				}
-				if(i > 0 && j > 0 && !gridContainsEdge(letters[i][j], letters[i-1][j-1]) ) {
-					grid.addEdge(letters[i][j], letters[i-1][j-1]);
-				}
-				if(i < letters.length-1 && j > 0 && !gridContainsEdge(letters[i][j], letters[i+1][j-1]) ) {
-					grid.addEdge(letters[i][j], letters[i+1][j-1]);
-				}
+		letterOf = new int[letters.length];
+		int[] counts = new int[distinct];
+		for(int cell = 0; cell < letters.length; cell++) {
+			letterOf[cell] = Arrays.binarySearch(alphabet, letters[cell]);
+			counts[letterOf[cell]]++;
+		}
+		
+		cellsOfLetter = new int[distinct][];
+		for(int letter = 0; letter < distinct; letter++) {
+			cellsOfLetter[letter] = new int[counts[letter]];
+			counts[letter] = 0;
+		}
+		
+		adjacentLetters = new boolean[distinct][distinct];
+		for(int cell = 0; cell < letters.length; cell++) {
+			int letter = letterOf[cell];
+			cellsOfLetter[letter][counts[letter]++] = cell;
+			
+			for(int i = neighborStart[cell]; i < neighborStart[cell + 1]; i++) {
+				adjacentLetters[letter][letterOf[neighbors[i]]] = true;
 			}
 		}
 	}
 	
 	/**
-	 * Check if the edge exist in the property grid 
-	 * @param d1 one of the vertex of the edge
-	 * @param d2 the other vertex of the edge
-	 * @return false if the edge doesnt existe, true otherwise
+	 * 
+	 * @param visited the bitset of the visited cells
+	 * @param cell a cell
+	 * @return true if the cell is in the current "path"
 	 */
-	private boolean gridContainsEdge(Dice d1, Dice d2) {
-		if(!grid.containsEdge(d1, d2)) {
-			return false;
-		}
-		return true;
+	private static boolean isVisited(long[] visited, int cell) {
+		return (visited[cell >>> 6] & (1L << cell)) != 0;
 	}
 	
 	/**
-	 * iterate through each dice and its neighbors to know if it's possible to make a word
+	 * iterate through each cell and its neighbors to know if it's possible to make a word
 	 * @param word the word we want to make
-	 * @param currentVertex the actualVertex
-	 * @param visited 
+	 * @param index the number of letters of the word already found, the last one is on cell
+	 * @param cell the current cell
+	 * @param visited the bitset of the cells in the current "path"
 	 * @return true if it's possible to make the word, false otherwise
 	 */
-	private boolean containsRecursive(String word, Dice currentVertex, HashSet<Dice> visited) {
-		Set<DefaultEdge> allEdges = grid.edgesOf(currentVertex);
+	private boolean containsRecursive(String word, int index, int cell, long[] visited) {
+		if(index == word.length()) return true;
+		
+		//add the cell to visited so we cant use a dice twice in the same "path"
+		visited[cell >>> 6] |= 1L << cell;
 		
-		//stop the recursivity when the length of the word equals 1
-		if(word.length() == 1) {
+		for(int i = neighborStart[cell]; i < neighborStart[cell + 1]; i++) {
+			int target = neighbors[i];
 			
-			for(var edge : allEdges) {
-				
-				//allows to get the vertex opposite to the current vertex
-				Dice target = grid.getEdgeTarget(edge).equals(currentVertex) ? grid.getEdgeSource(edge) : grid.getEdgeTarget(edge);
-				
-				//check if it's possible to make the word while respecting the rules of the game
-				if(target.getLetter() == word.charAt(0) && !visited.contains(target)) {
-					return true;
-				}
+			//check if it's possible to make the word while respecting the rules of the game
+			if(letters[target] == word.charAt(index) && !isVisited(visited, target)
+					&& containsRecursive(word, index + 1, target, visited)) {
+				visited[cell >>> 6] &= ~(1L << cell);
+				return true;
 			}
-			return false;
 		}
 		
-		for(var edge : allEdges) {
+		//remove the cell from visited to allow the dice to be in another "path"
+		visited[cell >>> 6] &= ~(1L << cell);
+		return false;
+	}
+	
+	/**
+	 * 
+	 * @return the strategy of solve(), from the size of the grid
+	 */
+	private SolveStrategy defaultStrategy() {
+		return letters.length >= WORDS_STRATEGY_MIN_CELLS ? SolveStrategy.WORDS : SolveStrategy.PATHS;
+	}
+	
+	/**
+	 * search the words of the grid with a strategy
+	 * @param strategy the way to search the words
+	 * @param hits where the found words are added
+	 */
+	private void search(SolveStrategy strategy, Hits hits) {
+		lastStrategy = strategy;
+		
+		if(strategy == SolveStrategy.WORDS) {
+			new WordSearch(hits).search();
+		}
+		else {
+			searchPaths(hits, 0, letters.length);
+		}
+	}
+	
+	/**
+	 * Searches for words in the Boggle grid by following the paths of the grid that start from some cells.
+	 * @param hits where the found words are added
+	 * @param from the first starting cell
+	 * @param to the cell after the last starting cell
+	 */
+	private void searchPaths(Hits hits, int from, int to) {
+		pathSearches.get().search(letters, layout, hits, from, to);
+	}
+	
+	/*
+	 * PARALLEL SOLVE
+	 */
+	
+	/**
+	 * Searches the words that start from the cells between from and to,
+	 * the range is cut in two until it is small enough, so the idle threads can steal the halves of the cells that have many words
+	 */
+	private class SolveTask extends RecursiveTask<Set<String>> {
+		private static final long serialVersionUID = 1L;
+		
+		private final int from;
+		private final int to;
+		
+		/**
+		 * constructor
+		 * @param from the first starting cell
+		 * @param to the cell after the last starting cell
+		 */
+		private SolveTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected Set<String> compute() {
+			if(to - from <= PARALLEL_THRESHOLD) {
+				//the words are only used by this task, the cursor and the visited cells by the thread that runs it
+				Hits hits = new Hits();
+				searchPaths(hits, from, to);
+				return hits.words;
+			}
 			
-			//allows to get the vertex opposite to the current vertex
-			Dice target = grid.getEdgeTarget(edge).equals(currentVertex) ? grid.getEdgeSource(edge) : grid.getEdgeTarget(edge);
+			int middle = (from + to) >>> 1;
+			SolveTask left = new SolveTask(from, middle);
+			left.fork();
+			Set<String> rightWords = new SolveTask(middle, to).compute();
+			Set<String> leftWords = left.join();
 			
-			//check if it's possible to make the word while respecting the rules of the game
-			if(target.getLetter() == word.charAt(0) && !visited.contains(target)) {
-				
-				//add the dice to visited so we cant use a dice twice in the same "path"
-				visited.add(target);
-				if(containsRecursive(word.substring(1), target, visited)) return true;
-				//remove the Dice from visited to allow the dice to be in another "path"
-				visited.remove(target);
+			//the smallest set is added to the other one
+			if(leftWords.size() < rightWords.size()) {
+				rightWords.addAll(leftWords);
+				return rightWords;
 			}
+			leftWords.addAll(rightWords);
+			return leftWords;
 		}
-		return false;
 	}
 	
+	/*
+	 * WORDS STRATEGY
+	 */
+	
 	/**
-	 * iterate through each dice and its neighbors to know each word that can be make
-	 * @param words the list of possible words
-	 * @param currentVertex the actualVertex
-	 * @param word the actual prefix/word 
-	 * @return a set of all the words that we can make
+	 * Searches the words by following the branches of the tree,
+	 * the cells where the prefix of the branch can end are kept for each depth (the frontier),
+	 * a branch is abandoned as soon as no cell next to the frontier has its next letter.
+	 * The frontier allows a cell to be used twice, so a word is checked with a real path before it is added.
 	 */
-	private Set<String> solveRecursive(Set<String> words, Dice currentVertex, String word) {
-		word += currentVertex.getLetter();
+	private class WordSearch {
+		private final Hits hits;
+		private final TrieCursor cursor = tree.cursor();
+		private final long[] visited = new long[(letters.length + 63) / 64];
+		// the letters of the current branch
+		private char[] word = new char[16];
+		// the cells of the path found for the current branch by isOnPath
+		private int[] path = new int[16];
+		// the frontiers of the depths of the current branch, one after the other
+		private int[] frontiers = new int[letters.length * 2];
+		// a cell is already in the frontier being built if its stamp is the current stamp
+		private final int[] stamps = new int[letters.length];
+		private int stamp;
 		
-		if(word.length() >= 3) {
-			//stop the recursivity when we cant make some words with the prefix
-			if(!tree.containsPrefix(word)) return words;
-			
-			if(tree.containsWord(word)) {
-				words.add(word);
+		/**
+		 * constructor
+		 * @param hits where the found words are added
+		 */
+		private WordSearch(Hits hits) {
+			this.hits = hits;
+		}
+		
+		/**
+		 * follow the branches of the tree from every letter of the grid
+		 */
+		private void search() {
+			for(int first = 0; first < alphabet.length; first++) {
+				if(!cursor.advance(alphabet[first])) continue;
+				
+				int[] cells = cellsOfLetter[first];
+				if(cells.length > frontiers.length) frontiers = Arrays.copyOf(frontiers, cells.length * 2);
+				System.arraycopy(cells, 0, frontiers, 0, cells.length);
+				word[0] = alphabet[first];
+				
+				if(cursor.hasChildren()) searchRecursive(1, first, 0, cells.length);
+				cursor.backtrack();
 			}
 		}
 		
-		Set<DefaultEdge> allEdges = grid.edgesOf(currentVertex);
+		/**
+		 * follow the children of the cursor that are next to the frontier
+		 * @param length the number of letters of the branch
+		 * @param last the index in alphabet of the last letter of the branch
+		 * @param from the index in frontiers of the first cell of the frontier
+		 * @param to the index in frontiers after the last cell of the frontier
+		 */
+		private void searchRecursive(int length, int last, int from, int to) {
+			if(length == word.length) {
+				word = Arrays.copyOf(word, length * 2);
+				path = Arrays.copyOf(path, length * 2);
+			}
+			
+			for(int next = 0; next < alphabet.length; next++) {
+				//the letter is not next to the last letter anywhere in the grid
+				if(!adjacentLetters[last][next] || !cursor.advance(alphabet[next])) continue;
+				
+				int end = nextFrontier(next, from, to);
+				if(end > to) {
+					word[length] = alphabet[next];
+					
+					if(length + 1 >= 3 && cursor.isWord() && isOnPath(length, to, end)) {
+						hits.add(word, path, length + 1);
+					}
+					if(cursor.hasChildren()) searchRecursive(length + 1, next, to, end);
+				}
+				cursor.backtrack();
+			}
+		}
 		
-		for(var edge : allEdges) {
+		/**
+		 * add after the frontier the cells with the letter that are next to a cell of the frontier
+		 * @param letter the index in alphabet of the letter
+		 * @param from the index in frontiers of the first cell of the frontier
+		 * @param to the index in frontiers after the last cell of the frontier
+		 * @return the index in frontiers after the last cell of the new frontier, to if it is empty
+		 */
+		private int nextFrontier(int letter, int from, int to) {
+			if(++stamp == 0) {
+				Arrays.fill(stamps, 0);
+				stamp = 1;
+			}
+			int end = to;
 			
+			for(int i = from; i < to; i++) {
+				int cell = frontiers[i];
+				
+				for(int j = neighborStart[cell]; j < neighborStart[cell + 1]; j++) {
+					int target = neighbors[j];
+					
+					if(letterOf[target] == letter && stamps[target] != stamp) {
+						stamps[target] = stamp;
+						if(end == frontiers.length) frontiers = Arrays.copyOf(frontiers, end * 2);
+						frontiers[end++] = target;
+					}
+				}
+			}
+			return end;
+		}
+		
+		/**
+		 * check that the branch can be made without using a cell twice
+		 * @param index the index in word of the last letter of the branch
+		 * @param from the index in frontiers of the first cell where the branch can end
+		 * @param to the index in frontiers after the last cell where the branch can end
+		 * @return true if a real path of the grid ends on one of the cells, its cells are then in path
+		 */
+		private boolean isOnPath(int index, int from, int to) {
+			for(int i = from; i < to; i++) {
+				if(pathEndsOn(index, frontiers[i])) return true;
+			}
+			return false;
+		}
+		
+		/**
+		 * read the branch backwards from a cell
+		 * @param index the index in word of the letter of the cell
+		 * @param cell the cell
+		 * @return true if the letters before index can be read from the neighbors of the cell without using a cell twice
+		 */
+		private boolean pathEndsOn(int index, int cell) {
+			path[index] = cell;
+			if(index == 0) return true;
 			
-			Dice target = grid.getEdgeTarget(edge) == currentVertex ? grid.getEdgeSource(edge) : grid.getEdgeTarget(edge) ;	
+			visited[cell >>> 6] |= 1L << cell;
+			boolean found = false;
 			
-			if(!target.isVisited()) {
+			for(int i = neighborStart[cell]; i < neighborStart[cell + 1] && !found; i++) {
+				int target = neighbors[i];
 				
-				//set the property isVisited to true so we cant use a dice twice in the same "path"
-				currentVertex.setIsVisited(true);
-				
-                words = (solveRecursive(words ,target, word));
-                
-                //set the property isVisited to false to allow the dice to be in another "path"
-                currentVertex.setIsVisited(false);
-            }
+				if(letters[target] == word[index - 1] && !isVisited(visited, target)) {
+					found = pathEndsOn(index - 1, target);
+				}
+			}
 			
+			visited[cell >>> 6] &= ~(1L << cell);
+			return found;
 		}
-		
-		return words;
 	}
 	
 	/*
@@ -366,9 +632,26 @@ public class Boggle {
 		Set<String> results = boggle.solve();
 		long solveTime = System.currentTimeMillis();
 		System.out.println("Duration : " + (solveTime - loadDictTime)/1000.0);
+		System.out.println("Strategy : " + boggle.getLastStrategy());
 		System.out.println("Number of words found : " + results.size());
 		//System.out.println(new TreeSet<String>(results).toString());
 		
+		// Best words of the grid
+		System.out.println("Searching the 10 best words...");
+		long scoreStartTime = System.currentTimeMillis();
+		List<FoundWord> best = boggle.solveWithScores(10);
+		System.out.println("Duration : " + (System.currentTimeMillis() - scoreStartTime)/1000.0);
+		for(FoundWord word : best) {
+			System.out.println(word.getWord() + " : " + word.getScore());
+		}
+		
+		// Solve grid with all the processors
+		System.out.println("Solving Boggle grid in parallel (" + ForkJoinPool.commonPool().getParallelism() + " threads)...");
+		long parallelStartTime = System.currentTimeMillis();
+		results = boggle.solveInParallel();
+		System.out.println("Duration : " + (System.currentTimeMillis() - parallelStartTime)/1000.0);
+		System.out.println("Number of words found : " + results.size());
+		
 		
 		/*long startTime = System.currentTimeMillis();
 		System.out.println("Loading dictionary...");
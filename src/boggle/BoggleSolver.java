@@ -0,0 +1,283 @@
+package boggle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import models.FoundWord;
+import tree.LexicographicTree;
+import tree.WordDictionary;
+
+/**
+ * Solves many grids against one dictionary, without building a Boggle for each grid.
+ * The dictionary is shared by all the threads and must not be modified while grids are solved,
+ * a frozen dictionary (LexicographicTree.freeze()) is the most compact one to share.
+ * The grids are searched like Boggle does with the PATHS strategy, the WORDS strategy is only faster on grids of thousands of cells.
+ * Each thread keeps its own search from one grid to the next, so solving a grid only allocates its words.
+ */
+public class BoggleSolver {
+	
+	private final WordDictionary dictionary;
+	private final ThreadLocal<Scratch> scratch;
+	
+	/*
+	 * CONSTRUCTOR
+	 */
+	
+	/**
+	 * Constructor : creates a solver for the words of a dictionary.
+	 * @param dictionary A dictionary of allowed words, it must not be modified while the solver is used
+	 */
+	public BoggleSolver(WordDictionary dictionary) {
+		if(dictionary == null) throw new IllegalArgumentException("L'argument dictionary ne doit pas etre null");
+		
+		this.dictionary = dictionary;
+		this.scratch = ThreadLocal.withInitial(Scratch::new);
+	}
+	
+	/*
+	 * PUBLIC METHODS
+	 */
+	
+	/**
+	 * Searches for words in a grid.
+	 * @param size The size of the squared grid
+	 * @param letters A string containing the (size x size) letters of the grid, row by row
+	 * @return the set of found words
+	 */
+	public Set<String> solve(int size, CharSequence letters) {
+		Hits hits = new Hits();
+		search(size, letters, hits);
+		return hits.words;
+	}
+	
+	/**
+	 * Searches for words in a grid.
+	 * @param size The size of the squared grid
+	 * @param letters An array containing the (size x size) letters of the grid, row by row, it is not modified
+	 * @return the set of found words
+	 */
+	public Set<String> solve(int size, char[] letters) {
+		Hits hits = new Hits();
+		search(size, letters, hits);
+		return hits.words;
+	}
+	
+	/**
+	 * Searches for the words of a grid that have the highest scores, with the cells used to make them, like Boggle.solveWithScores().
+	 * @param size The size of the squared grid
+	 * @param letters A string containing the (size x size) letters of the grid, row by row
+	 * @param limit the maximum number of words
+	 * @return the limit best words, from the highest score to the lowest, in alphabetic order for the same score
+	 */
+	public List<FoundWord> solveWithScores(int size, CharSequence letters, int limit) {
+		if(limit < 0) throw new IllegalArgumentException("L'argument limit doit etre positif");
+		checkGrid(size, letters == null ? -1 : letters.length());
+		if(limit == 0) return new ArrayList<FoundWord>();
+		
+		Hits hits = new Hits(limit);
+		search(size, letters, hits);
+		return hits.best();
+	}
+	
+	/**
+	 * Searches for the words of a grid that have the highest scores, with the cells used to make them, like Boggle.solveWithScores().
+	 * @param size The size of the squared grid
+	 * @param letters An array containing the (size x size) letters of the grid, row by row, it is not modified
+	 * @param limit the maximum number of words
+	 * @return the limit best words, from the highest score to the lowest, in alphabetic order for the same score
+	 */
+	public List<FoundWord> solveWithScores(int size, char[] letters, int limit) {
+		if(limit < 0) throw new IllegalArgumentException("L'argument limit doit etre positif");
+		checkGrid(size, letters == null ? -1 : letters.length);
+		if(limit == 0) return new ArrayList<FoundWord>();
+		
+		Hits hits = new Hits(limit);
+		search(size, letters, hits);
+		return hits.best();
+	}
+	
+	/**
+	 * Searches for words in a batch of grids of the same size, the grids are shared between the threads of the common ForkJoinPool.
+	 * @param size The size of the squared grids
+	 * @param grids The letters of each grid, row by row
+	 * @return the set of found words of each grid, in the order of the grids
+	 */
+	public List<Set<String>> solveAll(int size, List<? extends CharSequence> grids) {
+		if(grids == null) throw new IllegalArgumentException("L'argument grids ne doit pas etre null");
+		
+		return grids.parallelStream().map(letters -> solve(size, letters)).collect(Collectors.toList());
+	}
+	
+	/**
+	 * Searches for words in a batch of grids of the same size, the grids are shared between the threads of the common ForkJoinPool.
+	 * @param size The size of the squared grids
+	 * @param grids The letters of each grid, row by row, they are not modified
+	 * @return the set of found words of each grid, in the order of the grids
+	 */
+	public List<Set<String>> solveAll(int size, char[][] grids) {
+		if(grids == null) throw new IllegalArgumentException("L'argument grids ne doit pas etre null");
+		
+		return Arrays.stream(grids).parallel().map(letters -> solve(size, letters)).collect(Collectors.toList());
+	}
+	
+	/*
+	 * PRIVATE METHODS
+	 */
+	
+	/**
+	 * check the size of a grid and its number of letters
+	 * @param size the size of the squared grid
+	 * @param length the number of letters, -1 if they are null
+	 */
+	private static void checkGrid(int size, int length) {
+		if(size < 1) throw new IllegalArgumentException("L'argument size ne peut pas être inférieur à 1");
+		if(length < 0) throw new IllegalArgumentException("L'argument letters ne doit pas etre null");
+		if(length < size * size) throw new IllegalArgumentException("L'argument letters ne comporte pas assez de lettres");
+	}
+	
+	/**
+	 * search the words of a grid with the search of the thread
+	 * @param size the size of the squared grid
+	 * @param letters the letters of the grid, row by row
+	 * @param hits where the found words are added
+	 */
+	private void search(int size, CharSequence letters, Hits hits) {
+		checkGrid(size, letters == null ? -1 : letters.length());
+		
+		Scratch buffers = scratch.get();
+		char[] grid = buffers.grid(size * size);
+		for(int i = 0; i < size * size; i++) {
+			grid[i] = letters.charAt(i);
+		}
+		buffers.search.search(grid, buffers.layout(size), hits, 0, size * size);
+	}
+	
+	/**
+	 * search the words of a grid with the search of the thread
+	 * @param size the size of the squared grid
+	 * @param letters the letters of the grid, row by row
+	 * @param hits where the found words are added
+	 */
+	private void search(int size, char[] letters, Hits hits) {
+		checkGrid(size, letters == null ? -1 : letters.length);
+		
+		Scratch buffers = scratch.get();
+		buffers.search.search(letters, buffers.layout(size), hits, 0, size * size);
+	}
+	
+	/*
+	 * SCRATCH BUFFERS
+	 */
+	
+	/**
+	 * The search and the buffers of one thread, they grow with the biggest grid solved by the thread.
+	 */
+	private class Scratch {
+		// the search of Boggle with the PATHS strategy, the other one is only faster on much bigger grids
+		private final PathSearch search = new PathSearch(dictionary);
+		// copy of the letters of the grid, for the grids given as a CharSequence
+		private char[] grid = new char[0];
+		// the layout of the last grid, the big layouts are not shared so it is kept for the next grids of a batch
+		private GridLayout layout;
+		
+		/**
+		 * 
+		 * @param cellCount the number of cells of the grid
+		 * @return the buffer where the letters of the grid are copied
+		 */
+		private char[] grid(int cellCount) {
+			if(grid.length < cellCount) grid = new char[cellCount];
+			return grid;
+		}
+		
+		/**
+		 * 
+		 * @param size the size of the squared grid
+		 * @return the layout of the grids of this size
+		 */
+		private GridLayout layout(int size) {
+			if(layout == null || layout.size != size) layout = GridLayout.of(size);
+			return layout;
+		}
+	}
+	
+	/*
+	 * PERFORMANCE TESTS
+	 */
+	
+	/**
+	 * compare the number of grids solved per second by Boggle, by the solver on one thread and by solveAll
+	 * @param dictionary the dictionary
+	 * @param size the size of the grids
+	 * @param gridCount the number of random grids
+	 */
+	private static void testThroughput(WordDictionary dictionary, int size, int gridCount) {
+		List<String> grids = new ArrayList<String>();
+		for(int i = 0; i < gridCount; i++) {
+			char[] letters = new char[size * size];
+			for(int j = 0; j < letters.length; j++) {
+				letters[j] = Boggle.randomLetterBasedOnFrequency();
+			}
+			grids.add(new String(letters));
+		}
+		BoggleSolver solver = new BoggleSolver(dictionary);
+		
+		System.out.println("--------------------------------------");
+		System.out.println(gridCount + " grids " + size + "x" + size + " :");
+		
+		long startTime = System.nanoTime();
+		long wordCount = 0;
+		for(String grid : grids) {
+			wordCount += new Boggle(size, grid, dictionary).solve().size();
+		}
+		printThroughput("Boggle", gridCount, startTime, wordCount);
+		
+		startTime = System.nanoTime();
+		wordCount = 0;
+		for(String grid : grids) {
+			wordCount += solver.solve(size, grid).size();
+		}
+		printThroughput("BoggleSolver.solve", gridCount, startTime, wordCount);
+		
+		startTime = System.nanoTime();
+		wordCount = 0;
+		for(Set<String> words : solver.solveAll(size, grids)) {
+			wordCount += words.size();
+		}
+		printThroughput("BoggleSolver.solveAll", gridCount, startTime, wordCount);
+	}
+	
+	/**
+	 * 
+	 * @param name the name of the measured solver
+	 * @param gridCount the number of solved grids
+	 * @param startTime the value of System.nanoTime() before the grids were solved
+	 * @param wordCount the number of found words, to check that the solvers agree
+	 */
+	private static void printThroughput(String name, int gridCount, long startTime, long wordCount) {
+		double duration = (System.nanoTime() - startTime) / 1e9;
+		System.out.println(name + " : " + Math.round(gridCount / duration) + " grids/s (" + wordCount + " words)");
+	}
+	
+	/*
+	 * MAIN PROGRAM
+	 */
+	
+	public static void main(String[] args) {
+		long startTime = System.currentTimeMillis();
+		System.out.println("Loading dictionary...");
+		LexicographicTree tree = new LexicographicTree("mots/dictionnaire_FR_sans_accents.txt");
+		WordDictionary dictionary = tree.freeze();
+		System.out.println("Duration : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println("Number of words : " + dictionary.size());
+		
+		//the first rounds warm up the JIT
+		for(int round = 0; round < 3; round++) {
+			testThroughput(dictionary, 4, 20000);
+			testThroughput(dictionary, 5, 20000);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package boggle;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The neighbors of the cells of a squared grid, they only depend on the size of the grid.
+ * The cells are numbered row by row, cell i is at row i / size and column i % size,
+ * the neighbors of the cell i are neighbors[neighborStart[i]] to neighbors[neighborStart[i + 1] - 1].
+ * A layout is never modified, so the grids of the same small size share it.
+ */
+final class GridLayout {
+	
+	// the greatest size whose layout is kept, the bigger grids are rare and their layout would stay in memory until the end
+	private static final int MAX_CACHED_SIZE = 16;
+	// layouts already computed, by size
+	private static final Map<Integer, GridLayout> LAYOUTS = new ConcurrentHashMap<Integer, GridLayout>();
+	
+	final int size;
+	final int[] neighborStart;
+	final int[] neighbors;
+	
+	/**
+	 * constructor
+	 * @param size the size of the squared grid
+	 */
+	private GridLayout(int size) {
+		int cellCount = size * size;
+		this.size = size;
+		this.neighborStart = new int[cellCount + 1];
+		
+		//a cell has at most 8 neighbors, the array is cut at the end
+		int[] neighbors = new int[cellCount * 8];
+		int count = 0;
+		
+		for(int i = 0; i < size; i++) {
+			for(int j = 0; j < size; j++) {
+				neighborStart[i * size + j] = count;
+				
+				for(int row = Math.max(i - 1, 0); row <= Math.min(i + 1, size - 1); row++) {
+					for(int column = Math.max(j - 1, 0); column <= Math.min(j + 1, size - 1); column++) {
+						if(row != i || column != j) neighbors[count++] = row * size + column;
+					}
+				}
+			}
+		}
+		neighborStart[cellCount] = count;
+		this.neighbors = count == neighbors.length ? neighbors : Arrays.copyOf(neighbors, count);
+	}
+	
+	/**
+	 * get the layout of a size, it is computed at the first call up to MAX_CACHED_SIZE and at each call above
+	 * @param size the size of the squared grid, at least 1
+	 * @return the layout
+	 */
+	static GridLayout of(int size) {
+		if(size > MAX_CACHED_SIZE) return new GridLayout(size);
+		return LAYOUTS.computeIfAbsent(size, GridLayout::new);
+	}
+}
@@ -0,0 +1,69 @@
+package boggle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import models.FoundWord;
+
+/**
+ * The words found by a search, and the best of them with their path when the scores are asked.
+ */
+final class Hits {
+	
+	// the lowest score first, and for the same score the last word in alphabetic order
+	private static final Comparator<FoundWord> WORST_FIRST = Comparator.comparingInt(FoundWord::getScore)
+			.thenComparing(FoundWord::getWord, Comparator.reverseOrder());
+	
+	final Set<String> words = new HashSet<String>();
+	// the best words, the worst first so it is the one removed when there are too many, null if the scores are not asked
+	private final PriorityQueue<FoundWord> best;
+	private final int limit;
+	
+	/**
+	 * constructor : only the words are kept
+	 */
+	Hits() {
+		this.best = null;
+		this.limit = 0;
+	}
+	
+	/**
+	 * constructor : the limit best words are also kept with their path
+	 * @param limit the maximum number of best words, at least 1
+	 */
+	Hits(int limit) {
+		this.best = new PriorityQueue<FoundWord>(WORST_FIRST);
+		this.limit = limit;
+	}
+	
+	/**
+	 * add a word made by a path, the String is only created if the word can be kept
+	 * @param word the letters of the path
+	 * @param path the cells of the path
+	 * @param length the number of letters of the word
+	 */
+	void add(char[] word, int[] path, int length) {
+		//the score of the worst kept word only grows, so a word below it will never be kept
+		if(best != null && best.size() == limit && FoundWord.score(length) < best.peek().getScore()) return;
+		
+		String found = new String(word, 0, length);
+		if(!words.add(found) || best == null) return;
+		
+		best.add(new FoundWord(found, path, length));
+		if(best.size() > limit) best.poll();
+	}
+	
+	/**
+	 * 
+	 * @return the kept words, from the best to the worst
+	 */
+	List<FoundWord> best() {
+		List<FoundWord> sorted = new ArrayList<FoundWord>(best);
+		sorted.sort(WORST_FIRST.reversed());
+		return sorted;
+	}
+}
@@ -0,0 +1,109 @@
+package boggle;
+
+import java.util.Arrays;
+
+import tree.TrieCursor;
+import tree.WordDictionary;
+
+/**
+ * Searches the words of a grid by following its paths from the starting cells, and the tree along them (SolveStrategy.PATHS).
+ * The cursor and the buffers belong to the owner of the search, the bitset grows with the biggest grid
+ * and the path with the longest prefix followed, so a thread can keep the same search from one grid to the next.
+ * A search must not be used by two threads at the same time.
+ */
+final class PathSearch {
+	
+	private static final int MIN_WORD_LENGTH = 3;
+	
+	// the cursor follows the path in the tree, so each step only costs the letter that is added
+	private final TrieCursor cursor;
+	// the bitset of the cells in the current path
+	private long[] visited = new long[0];
+	// the letters and the cells of the current path, they grow with the prefixes of the dictionary, not with the grid
+	private char[] word = new char[16];
+	private int[] path = new int[16];
+	// the grid and the found words of the current search
+	private char[] letters;
+	private GridLayout layout;
+	private Hits hits;
+	
+	/**
+	 * constructor
+	 * @param dictionary the dictionary of allowed words
+	 */
+	PathSearch(WordDictionary dictionary) {
+		this.cursor = dictionary.cursor();
+	}
+	
+	/**
+	 * search the words made by the paths that start from some cells
+	 * @param letters the letters of the grid, row by row
+	 * @param layout the neighbors of the cells of the grid
+	 * @param hits where the found words are added
+	 * @param from the first starting cell
+	 * @param to the cell after the last starting cell
+	 */
+	void search(char[] letters, GridLayout layout, Hits hits, int from, int to) {
+		int visitedLength = (layout.size * layout.size + 63) / 64;
+		if(visited.length < visitedLength) visited = new long[visitedLength];
+		this.letters = letters;
+		this.layout = layout;
+		this.hits = hits;
+		
+		//the cursor and the visited cells may have been left anywhere if a previous search failed
+		cursor.reset();
+		Arrays.fill(visited, 0, visitedLength, 0L);
+		
+		try {
+			for(int cell = from; cell < to; cell++) {
+				//get all the words that is possible to make when we start from each dice
+				searchRecursive(cell, 0);
+			}
+		}
+		finally {
+			//the search may be kept by a thread, it must not keep the grid and the words alive
+			this.letters = null;
+			this.hits = null;
+		}
+	}
+	
+	/**
+	 * iterate through each cell and its neighbors to know each word that can be make
+	 * @param cell the current cell
+	 * @param length the number of letters of the path before the cell, the cursor is placed on them and back there at the end
+	 */
+	private void searchRecursive(int cell, int length) {
+		//stop the recursivity when we cant make some words with the prefix
+		if(!cursor.advance(letters[cell])) return;
+		
+		if(length == word.length) {
+			word = Arrays.copyOf(word, length * 2);
+			path = Arrays.copyOf(path, length * 2);
+		}
+		word[length] = letters[cell];
+		path[length] = cell;
+		
+		//the String is only created for the words of the dictionary
+		if(length + 1 >= MIN_WORD_LENGTH && cursor.isWord()) {
+			hits.add(word, path, length + 1);
+		}
+		
+		if(cursor.hasChildren()) {
+			//set the cell as visited so we cant use a dice twice in the same "path"
+			visited[cell >>> 6] |= 1L << cell;
+			
+			for(int i = layout.neighborStart[cell]; i < layout.neighborStart[cell + 1]; i++) {
+				int target = layout.neighbors[i];
+				
+				if((visited[target >>> 6] & (1L << target)) == 0) {
+					searchRecursive(target, length + 1);
+				}
+			}
+			
+			//set the cell as not visited to allow the dice to be in another "path"
+			visited[cell >>> 6] &= ~(1L << cell);
+		}
+		
+		cursor.backtrack();
+	}
+}
@@ -22,6 +22,7 @@ import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import tree.LexicographicTree;
+import tree.WordDictionary;
 
 public class DictionaryBasedAnalysis {
 	
@@ -31,13 +32,13 @@ public class DictionaryBasedAnalysis {
 	private static final String CRYPTOGRAM_FILE = "txt/Plus fort que Sherlock Holmes (cryptogram).txt";
 	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
 	
-	private static LexicographicTree tree;
+	private static WordDictionary tree;
 	private String cryptogram;
 
 	/*
 	 * CONSTRUCTOR
 	 */
-	public DictionaryBasedAnalysis(String cryptogram, LexicographicTree dict) {
+	public DictionaryBasedAnalysis(String cryptogram, WordDictionary dict) {
 		tree = dict;
 		this.cryptogram = cryptogram;
 	}
@@ -78,16 +79,17 @@ public class DictionaryBasedAnalysis {
 		
 		String newAlphabet = alphabet;
 		String tempAlphabet = alphabet;
-		String actualWordDecrypted = "";
+		//reusable buffer so the tree is queried without creating a String for each word
+		StringBuilder actualWordDecrypted = new StringBuilder();
 		int count = 0;
 		
 		do{
 			int temp = 0;
 			
 			for(var word : allWordsList) {
-				actualWordDecrypted = applySubstitution(word, tempAlphabet);
+				applySubstitutionLowerCase(word, tempAlphabet, actualWordDecrypted);
 				
-				if(tree.containsWord(actualWordDecrypted.toLowerCase())){
+				if(tree.containsWord(actualWordDecrypted)){
 					temp++;
 					decryptedSet.add(word);
 				}
@@ -164,6 +166,25 @@ public class DictionaryBasedAnalysis {
 	 * PRIVATE METHODS
 	 */
 	
+	/**
+	 * Applies an alphabet-specified substitution to a word and writes it in lower case in a buffer
+	 * @param word the encrypted word
+	 * @param alphabet the substitution alphabet
+	 * @param buffer the buffer that is cleared and receives the substituted word
+	 */
+	private static void applySubstitutionLowerCase(String word, String alphabet, StringBuilder buffer) {
+		buffer.setLength(0);
+		
+		for(int i = 0; i < word.length(); i++) {
+			char letter = word.charAt(i);
+			
+			if(Character.isLetter(letter)) {
+				letter = alphabet.charAt(LETTERS.indexOf(letter));
+			}
+			buffer.append(Character.toLowerCase(letter));
+		}
+	}
+	
 	//public for the tests
 	
 	/**
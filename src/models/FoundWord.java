@@ -0,0 +1,95 @@
+package models;
+
+import java.util.Arrays;
+
+public class FoundWord {
+	
+	private final String word;
+	private final int score;
+	// the cells of the grid used to make the word, in the order of its letters
+	private final int[] path;
+	
+	/**
+	 * constructor
+	 * @param word the word
+	 * @param path the cells used to make the word, one per letter, the array is copied
+	 */
+	public FoundWord(String word, int[] path) {
+		this(word, path, path == null ? 0 : path.length);
+	}
+	
+	/**
+	 * constructor : the path is the beginning of a bigger array, like the buffer of a search
+	 * @param word the word
+	 * @param path the cells used to make the word in its first length cells, they are copied
+	 * @param length the number of cells of the path, the length of the word
+	 */
+	public FoundWord(String word, int[] path, int length) {
+		if(word == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		if(path == null) throw new IllegalArgumentException("L'argument path ne doit pas etre null");
+		if(length != word.length() || length > path.length) throw new IllegalArgumentException("L'argument path doit comporter une case par lettre");
+		
+		this.word = word;
+		this.score = score(length);
+		this.path = Arrays.copyOf(path, length);
+	}
+	
+	/**
+	 * get the score of a word by the Boggle rules
+	 * @param length the number of letters of the word
+	 * @return 1 for 3 and 4 letters, 2 for 5, 3 for 6, 5 for 7, 11 for 8 and more, 0 below 3 letters
+	 */
+	public static int score(int length) {
+		if(length < 3) return 0;
+		if(length <= 4) return 1;
+		if(length == 5) return 2;
+		if(length == 6) return 3;
+		if(length == 7) return 5;
+		return 11;
+	}
+	
+	/**
+	 * 
+	 * @return the word
+	 */
+	public String getWord() {
+		return word;
+	}
+	
+	/**
+	 * 
+	 * @return the score
+	 */
+	public int getScore() {
+		return score;
+	}
+	
+	/**
+	 * the cells are numbered row by row, cell i is at row i / size and column i % size
+	 * @return a copy of the cells used to make the word
+	 */
+	public int[] getPath() {
+		return path.clone();
+	}
+	
+	@Override
+	public int hashCode() {
+		return 31 * word.hashCode() + Arrays.hashCode(path);
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof FoundWord))
+			return false;
+		FoundWord other = (FoundWord) obj;
+		return word.equals(other.word) && Arrays.equals(path, other.path);
+	}
+	
+	@Override
+	public String toString() {
+		return "FoundWord [word=" + word + ", score=" + score + ", path=" + Arrays.toString(path) + "]";
+	}
+
+}
@@ -3,16 +3,27 @@ package models;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 
 public class Node implements Comparable<Node> {
 	
+	private static final Node[] NO_CHILDREN = new Node[0];
+	
 	private char letter;
-	private Node[] children;
+	// children sorted by letter so a child can be found with a binary search,
+	// only the first childCount cells are used
+	private Node[] children = NO_CHILDREN;
+	private int childCount;
 	private boolean isWord;
+	// number of words that end on this node or under it
+	private int wordCount;
+	// shortest and longest number of letters between this node and the end of a word under it,
+	// MAX_VALUE and -1 while there is no word under it
+	// they are shorts to keep the node in the same memory size, the lengths above Short.MAX_VALUE are saturated
+	private short minWordLength = Short.MAX_VALUE;
+	private short maxWordLength = -1;
 	
 	/**
 	 * constructor
@@ -48,37 +59,180 @@ public class Node implements Comparable<Node> {
 	}
 	
 	/**
-	 * initiale, sort and return the children
+	 * set isWord to false, when the word of the node is removed
+	 */
+	public void clearIsWord() {
+		this.isWord = false;
+	}
+	
+	/**
+	 * 
+	 * @return the number of words that end on this node or under it
+	 */
+	public int getWordCount() {
+		return wordCount;
+	}
+	
+	/**
+	 * add delta to the number of words that end on this node or under it
+	 * @param delta the number of words added (or removed if negative)
+	 */
+	public void updateWordCount(int delta) {
+		this.wordCount += delta;
+	}
+	
+	/**
+	 * 
+	 * @return the smallest number of letters between this node and the end of a word under it
+	 */
+	public int getMinWordLength() {
+		return minWordLength;
+	}
+	
+	/**
+	 * 
+	 * @return the greatest number of letters between this node and the end of a word under it
+	 */
+	public int getMaxWordLength() {
+		return maxWordLength;
+	}
+	
+	/**
+	 * record that a word ends some letters under this node
+	 * @param length the number of letters between this node and the end of the word, 0 if the word ends on this node
+	 */
+	public void addWordLength(int length) {
+		short saturated = (short) Math.min(length, Short.MAX_VALUE);
+		
+		if(saturated < minWordLength) minWordLength = saturated;
+		if(saturated > maxWordLength) maxWordLength = saturated;
+	}
+	
+	/**
+	 * compute again the shortest and longest lengths from isWord and the children, after a word was removed under this node
+	 */
+	public void recomputeWordLengths() {
+		minWordLength = isWord ? 0 : Short.MAX_VALUE;
+		maxWordLength = (short) (isWord ? 0 : -1);
+		
+		for(int i = 0; i < childCount; i++) {
+			addWordLength(children[i].minWordLength + 1);
+			addWordLength(children[i].maxWordLength + 1);
+		}
+	}
+	
+	/**
+	 * check if a word of the given number of letters can end under this node
+	 * @param length the number of letters between this node and the end of the word
+	 * @return false if no word under this node has this length, true if one may have it
+	 */
+	public boolean mayHaveWordLength(int length) {
+		return length >= minWordLength && (length <= maxWordLength || maxWordLength == Short.MAX_VALUE);
+	}
+	
+	/**
+	 * return a copy of the children, they are already sorted by letter
+	 * to go through the children without creating any object, use getChildCount() and getChildAt()
 	 * @return a list of the children
 	 */
 	public List<Node> getChildren() {
-		if(children == null) return new ArrayList<Node>();
+		if(childCount == 0) return new ArrayList<Node>();
 		
-		List<Node> list = Arrays.asList(children);
-		Collections.sort(list);
-		return list;
+		return Arrays.asList(Arrays.copyOf(children, childCount));
 	}
 	
 	
 	/**
-	 * add a element to the array children
+	 * 
+	 * @return the number of children
+	 */
+	public int getChildCount() {
+		return childCount;
+	}
+	
+	/**
+	 * get a child by its position, the children are sorted by letter
+	 * @param index the position of the child, between 0 and getChildCount() - 1
+	 * @return the child at the position
+	 */
+	public Node getChildAt(int index) {
+		if(index < 0 || index >= childCount) throw new IndexOutOfBoundsException("L'argument index doit etre compris entre 0 et getChildCount() - 1");
+		
+		return children[index];
+	}
+	
+	/**
+	 * add a element to the array children at its sorted position,
+	 * if a child with the same letter already exists it is replaced
 	 * @param child the Node to add
 	 */
 	public void addChild(Node child) {
-		if(children == null) children = new Node[0];
+		int index = indexOf(child.letter);
+		
+		if(index >= 0) {
+			children[index] = child;
+		}
+		else {
+			insertAt(-index - 1, child);
+		}
+	}
+	
+	/**
+	 * get the child that holds the letter, the child is created if it doesnt exist yet
+	 * @param letter the letter of the child
+	 * @return the child that holds the letter
+	 */
+	public Node getOrAddChild(char letter) {
+		int index = indexOf(letter);
+		if(index >= 0) return children[index];
 		
-		children = Arrays.copyOf(children, children.length + 1);
-		children[children.length - 1] = child;
+		Node child = new Node(letter, false);
+		insertAt(-index - 1, child);
+		return child;
+	}
+	
+	/**
+	 * create a child after the last child, without searching the letter,
+	 * used when the words are inserted in alphabetic order
+	 * @param letter the letter of the child, greater than the letter of the last child
+	 * @return the new child
+	 */
+	public Node appendChild(char letter) {
+		if(childCount > 0 && children[childCount - 1].letter >= letter) throw new IllegalArgumentException("L'argument letter doit etre apres la lettre du dernier enfant");
+		
+		Node child = new Node(letter, false);
+		insertAt(childCount, child);
+		return child;
+	}
+	
+	/**
+	 * remove the child that holds the letter, the array is made smaller when it is mostly empty
+	 * @param letter the letter of the child
+	 * @return the removed child, null if there is none
+	 */
+	public Node removeChild(char letter) {
+		int index = indexOf(letter);
+		if(index < 0) return null;
+		
+		Node child = children[index];
+		System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+		children[--childCount] = null;
+		
+		if(childCount == 0) {
+			children = NO_CHILDREN;
+		}
+		else if(childCount <= children.length / 4) {
+			children = Arrays.copyOf(children, childCount * 2);
+		}
+		return child;
 	}
 	
 	/**
 	 * 
-	 * @return true if the propery children is null or have a size of under or equals to 0
+	 * @return true if the node doesnt have any child
 	 */
 	public boolean isLeaf() {
-		if(children == null) return true;
-		
-		return children.length <= 0;
+		return childCount == 0;
 	}
 	
 	
@@ -88,12 +242,7 @@ public class Node implements Comparable<Node> {
 	 * @return true if children contains child, false otherwise
 	 */
 	public boolean containLetterInChildren(Node child) {
-		if(children == null) return false;
-		
-		for(Node n : children) {
-			if(n.equals(child)) return true;
-		}
-		return false;
+		return indexOf(child.letter) >= 0;
 	}
 	
 	/**
@@ -102,19 +251,61 @@ public class Node implements Comparable<Node> {
 	 * @return true if the property children contains child, null otherwise
 	 */
 	public Node getChildFromNode(Node child) {
-		if(children == null) return null;
+		return getChild(child.letter);
+	}
+	
+	/**
+	 * get the child that holds the letter without creating any object
+	 * @param letter the letter of the child
+	 * @return the child that holds the letter, null if there is none
+	 */
+	public Node getChild(char letter) {
+		int index = indexOf(letter);
+		
+		return index >= 0 ? children[index] : null;
+	}
+	
+	/**
+	 * search the letter in children with a binary search
+	 * @param letter the letter to search
+	 * @return the index of the child if it exists, (-(insertion point) - 1) otherwise
+	 */
+	private int indexOf(char letter) {
+		int low = 0;
+		int high = childCount - 1;
 		
-		for(Node n : children) {
-			if (n.equals(child)) return n;
+		while(low <= high) {
+			int middle = (low + high) >>> 1;
+			char middleLetter = children[middle].letter;
+			
+			if(middleLetter < letter) low = middle + 1;
+			else if(middleLetter > letter) high = middle - 1;
+			else return middle;
 		}
-		return null;
+		return -(low + 1);
+	}
+	
+	/**
+	 * insert a child at index, the array doubles its capacity when it is full
+	 * @param index the index where the child is inserted
+	 * @param child the child to insert
+	 */
+	private void insertAt(int index, Node child) {
+		if(childCount == children.length) {
+			int capacity = childCount == 0 ? 1 : childCount * 2;
+			children = Arrays.copyOf(children, capacity);
+		}
+		
+		System.arraycopy(children, index, children, index + 1, childCount - index);
+		children[index] = child;
+		childCount++;
 	}
 	
 	@Override
 	public int hashCode() {
-		return Objects.hash(letter, children);
+		return Objects.hash(letter);
 	}
-
+	
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
@@ -124,7 +315,7 @@ public class Node implements Comparable<Node> {
 		Node other = (Node) obj;
 		return letter == other.letter;
 	}
-
+	
 	@Override
 	public int compareTo(Node o) {
 		Node other = (Node) o;
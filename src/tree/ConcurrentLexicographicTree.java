@@ -0,0 +1,427 @@
+package tree;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe lexicographic tree: words can be inserted while other threads search the tree.
+ * The children of a node are an immutable sorted array, an insertion builds a copy with the new child
+ * and publishes it with a compare-and-set, so the readers never block and always see a consistent array.
+ * The writers don't take any lock either, they only retry when another writer changed the same node at the same time.
+ * The searches are weakly consistent: a word inserted during a getWords() may or may not be returned.
+ */
+public class ConcurrentLexicographicTree implements WordDictionary {
+	
+	private final AtomicNode root = new AtomicNode(' ');
+	private final AtomicInteger size = new AtomicInteger();
+	
+	/*
+	 * CONSTRUCTORS
+	 */
+	
+	/**
+	 * Constructor : creates an empty tree.
+	 */
+	public ConcurrentLexicographicTree() {
+	}
+	
+	/**
+	 * Constructor : creates a tree populated with words.
+	 * @param filename A text file containing the words to be inserted in the tree
+	 */
+	public ConcurrentLexicographicTree(String filename) {
+		insertWords(filename);
+	}
+	
+	/*
+	 * PUBLIC METHODS
+	 */
+	
+	@Override
+	public int size() {
+		return size.get();
+	}
+	
+	/**
+	 * Inserts a word in the tree if not already present.
+	 * Can be called by several threads at the same time, and while other threads search the tree.
+	 * @param word A word
+	 */
+	public void insertWord(String word) {
+		AtomicNode actualNode = root;
+		
+		//same filter as LexicographicTree, the characters that are not allowed are skipped
+		for(int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			
+			if(LexicographicTree.isAllowedCharacter(c)) {
+				actualNode = actualNode.getOrAddChild(c);
+			}
+		}
+		
+		//only the thread that really marks the node counts the word
+		if(actualNode.markWord()) size.incrementAndGet();
+	}
+	
+	/**
+	 * Inserts the words of a file, one word per line, while the tree can still be searched.
+	 * @param filename A text file containing the words to be inserted in the tree
+	 */
+	public void insertWords(String filename) {
+		try(BufferedReader reader = Files.newBufferedReader(Paths.get(filename))){
+			String line;
+			while((line = reader.readLine()) != null) {
+				insertWord(line);
+			}
+		}
+		catch (FileNotFoundException e) {
+			System.out.println("Fichier non trouvé");
+		}
+		catch (IOException e) {
+			System.out.println("Une erreur est survenue lors de la lecture du fichier");
+		}
+	}
+	
+	@Override
+	public boolean containsWord(CharSequence word) {
+		if(word == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		
+		//like in LexicographicTree, a blank word is the empty word
+		if(LexicographicTree.isBlank(word)) return root.isWord;
+		
+		AtomicNode node = findNode(word);
+		return node != null && node.isWord;
+	}
+	
+	@Override
+	public boolean containsPrefix(CharSequence prefix) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument prefix ne doit pas etre null");
+		
+		return findNode(prefix) != null;
+	}
+	
+	@Override
+	public List<String> getWords(String prefix) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		
+		List<String> words = new ArrayList<String>();
+		if(prefix.isBlank()) prefix = "";
+		
+		AtomicNode prefixNode = findNode(prefix);
+		if(prefixNode == null) return words;
+		
+		collectWords(prefixNode, new StringBuilder(prefix), words);
+		return words;
+	}
+	
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> words = new ArrayList<String>();
+		if(length <= 0) return words;
+		
+		collectWordsOfLength(root, new StringBuilder(length), length, words);
+		return words;
+	}
+	
+	@Override
+	public TrieCursor cursor() {
+		return new AtomicCursor();
+	}
+	
+	/*
+	 * PRIVATE METHODS
+	 */
+	
+	/**
+	 * follow the letters of the sequence from the root
+	 * @param sequence the letters to follow
+	 * @return the node of the last letter, null if the path doesnt exist
+	 */
+	private AtomicNode findNode(CharSequence sequence) {
+		AtomicNode actualNode = root;
+		
+		for(int i = 0; i < sequence.length() && actualNode != null; i++) {
+			actualNode = actualNode.getChild(sequence.charAt(i));
+		}
+		return actualNode;
+	}
+	
+	/**
+	 * add to words every word under the node, in alphabetic order
+	 * @param node the current node
+	 * @param word the letters from the root to the node
+	 * @param words the list of words
+	 */
+	private static void collectWords(AtomicNode node, StringBuilder word, List<String> words) {
+		if(node.isWord) words.add(word.toString());
+		
+		//the array read once is never modified, even if a writer publishes a new one meanwhile
+		for(AtomicNode child : node.children) {
+			word.append(child.letter);
+			collectWords(child, word, words);
+			word.setLength(word.length() - 1);
+		}
+	}
+	
+	/**
+	 * add to words every word of the remaining length under the node, in alphabetic order
+	 * @param node the current node
+	 * @param word the letters from the root to the node
+	 * @param remaining the number of letters that are still missing
+	 * @param words the list of words
+	 */
+	private static void collectWordsOfLength(AtomicNode node, StringBuilder word, int remaining, List<String> words) {
+		if(remaining == 0) {
+			if(node.isWord) words.add(word.toString());
+			return;
+		}
+		
+		for(AtomicNode child : node.children) {
+			word.append(child.letter);
+			collectWordsOfLength(child, word, remaining - 1, words);
+			word.setLength(word.length() - 1);
+		}
+	}
+	
+	/*
+	 * NODE
+	 */
+	
+	/**
+	 * node whose children and isWord can be changed by several threads
+	 */
+	private static final class AtomicNode {
+		
+		private static final AtomicNode[] NO_CHILDREN = new AtomicNode[0];
+		private static final VarHandle CHILDREN;
+		private static final VarHandle IS_WORD;
+		
+		static {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				CHILDREN = lookup.findVarHandle(AtomicNode.class, "children", AtomicNode[].class);
+				IS_WORD = lookup.findVarHandle(AtomicNode.class, "isWord", boolean.class);
+			}
+			catch (ReflectiveOperationException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+		
+		private final char letter;
+		// sorted by letter and never modified once published, an insertion replaces the whole array
+		private volatile AtomicNode[] children = NO_CHILDREN;
+		private volatile boolean isWord;
+		
+		/**
+		 * constructor
+		 * @param letter the letter
+		 */
+		private AtomicNode(char letter) {
+			this.letter = letter;
+		}
+		
+		/**
+		 * get the child that holds the letter
+		 * @param letter the letter of the child
+		 * @return the child that holds the letter, null if there is none
+		 */
+		private AtomicNode getChild(char letter) {
+			AtomicNode[] snapshot = children;
+			int index = indexOf(snapshot, letter);
+			
+			return index >= 0 ? snapshot[index] : null;
+		}
+		
+		/**
+		 * get the child that holds the letter, the child is created if it doesnt exist yet,
+		 * when two threads create the same child only one of them is published and returned to both
+		 * @param letter the letter of the child
+		 * @return the child that holds the letter
+		 */
+		private AtomicNode getOrAddChild(char letter) {
+			AtomicNode child = null;
+			
+			while(true) {
+				AtomicNode[] snapshot = children;
+				int index = indexOf(snapshot, letter);
+				if(index >= 0) return snapshot[index];
+				
+				//copy the array with the new child at its sorted position
+				if(child == null) child = new AtomicNode(letter);
+				int insertion = -index - 1;
+				AtomicNode[] updated = new AtomicNode[snapshot.length + 1];
+				System.arraycopy(snapshot, 0, updated, 0, insertion);
+				updated[insertion] = child;
+				System.arraycopy(snapshot, insertion, updated, insertion + 1, snapshot.length - insertion);
+				
+				if(CHILDREN.compareAndSet(this, snapshot, updated)) return child;
+				//another writer changed the children, search again in its array
+			}
+		}
+		
+		/**
+		 * set isWord to true
+		 * @return true if this call set it, false if the node was already a word
+		 */
+		private boolean markWord() {
+			return !isWord && IS_WORD.compareAndSet(this, false, true);
+		}
+		
+		/**
+		 * search the letter in an array of children with a binary search
+		 * @param children the children, sorted by letter
+		 * @param letter the letter to search
+		 * @return the index of the child if it exists, (-(insertion point) - 1) otherwise
+		 */
+		private static int indexOf(AtomicNode[] children, char letter) {
+			int low = 0;
+			int high = children.length - 1;
+			
+			while(low <= high) {
+				int middle = (low + high) >>> 1;
+				char middleLetter = children[middle].letter;
+				
+				if(middleLetter < letter) low = middle + 1;
+				else if(middleLetter > letter) high = middle - 1;
+				else return middle;
+			}
+			return -(low + 1);
+		}
+	}
+	
+	/*
+	 * CURSOR
+	 */
+	
+	/**
+	 * cursor that keeps the nodes of the current prefix in a stack, it must be used by only one thread
+	 */
+	private class AtomicCursor implements TrieCursor {
+		
+		private AtomicNode[] path = new AtomicNode[32];
+		private int depth;
+		
+		/**
+		 * constructor
+		 */
+		private AtomicCursor() {
+			path[0] = root;
+		}
+		
+		@Override
+		public boolean advance(char letter) {
+			AtomicNode child = path[depth].getChild(letter);
+			if(child == null) return false;
+			
+			if(depth + 1 == path.length) path = Arrays.copyOf(path, path.length * 2);
+			path[++depth] = child;
+			return true;
+		}
+		
+		@Override
+		public void backtrack() {
+			if(depth == 0) throw new IllegalStateException("Le curseur est deja sur le prefixe vide");
+			
+			path[depth--] = null;
+		}
+		
+		@Override
+		public boolean isWord() {
+			return path[depth].isWord;
+		}
+		
+		@Override
+		public boolean hasChildren() {
+			return path[depth].children.length > 0;
+		}
+		
+		@Override
+		public int depth() {
+			return depth;
+		}
+		
+		@Override
+		public void reset() {
+			while(depth > 0) path[depth--] = null;
+		}
+	}
+	
+	/*
+	 * TEST FUNCTIONS
+	 */
+	
+	/**
+	 * Loads a dictionary with several writer threads, then searches it with several reader threads
+	 * while another thread inserts new words, and prints the throughputs.
+	 * @param filename The dictionary file
+	 * @param threadCount The number of writer threads, and of reader threads
+	 */
+	private static void testConcurrentPerformance(String filename, int threadCount) throws InterruptedException {
+		List<String> words = new LexicographicTree(filename).getWords("");
+		System.out.println("Available processors : " + Runtime.getRuntime().availableProcessors());
+		
+		long startTime = System.currentTimeMillis();
+		LexicographicTree single = new LexicographicTree();
+		for (String word : words) {
+			single.insertWord(word);
+		}
+		System.out.println("Load time, LexicographicTree, 1 thread : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		
+		//each writer inserts one slice of the words
+		ConcurrentLexicographicTree tree = new ConcurrentLexicographicTree();
+		Thread[] writers = new Thread[threadCount];
+		startTime = System.currentTimeMillis();
+		for (int t = 0; t < threadCount; t++) {
+			List<String> slice = words.subList(words.size() * t / threadCount, words.size() * (t + 1) / threadCount);
+			writers[t] = new Thread(() -> slice.forEach(tree::insertWord));
+			writers[t].start();
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		System.out.println("Load time, ConcurrentLexicographicTree, " + threadCount + " threads : " + (System.currentTimeMillis() - startTime) / 1000.0 + " (" + tree.size() + " words)");
+		
+		//the readers search all the words while a writer adds the same words with a suffix
+		int repeatCount = 10;
+		Thread writer = new Thread(() -> words.forEach(word -> tree.insertWord(word + "s")));
+		Thread[] readers = new Thread[threadCount];
+		AtomicInteger missing = new AtomicInteger();
+		startTime = System.currentTimeMillis();
+		writer.start();
+		for (int t = 0; t < threadCount; t++) {
+			readers[t] = new Thread(() -> {
+				for (int i = 0; i < repeatCount; i++) {
+					for (String word : words) {
+						if (!tree.containsWord(word)) missing.incrementAndGet();
+					}
+				}
+			});
+			readers[t].start();
+		}
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		double readTime = (System.currentTimeMillis() - startTime) / 1000.0;
+		writer.join();
+		long searchCount = (long) words.size() * repeatCount * threadCount;
+		System.out.println("Searches during inserts, " + threadCount + " readers : " + readTime + " s, " + (long) (searchCount / readTime) + " searches/s, " + missing.get() + " missing");
+		System.out.println("Words after the inserts : " + tree.size());
+	}
+	
+	/*
+	 * MAIN PROGRAM
+	 */
+	
+	public static void main(String[] args) throws InterruptedException {
+		testConcurrentPerformance("mots/dictionnaire_FR_sans_accents.txt", Math.max(2, Runtime.getRuntime().availableProcessors()));
+	}
+}
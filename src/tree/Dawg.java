@@ -0,0 +1,477 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import models.Node;
+
+/**
+ * Read-only dictionary compiled from a LexicographicTree into a minimized directed acyclic word graph (DAWG).
+ * The nodes that have the same end of words are merged, so the shared suffixes are only stored once,
+ * and the graph is stored in flat arrays instead of one object per letter.
+ * The arrays can be written in a binary image, and the image can be opened with a memory mapping:
+ * the lookups then read the mapped file directly, and the processes that open the same image share its pages.
+ */
+public class Dawg implements WordDictionary {
+	
+	// "DAWG" in ASCII, at the beginning of the images
+	private static final int MAGIC = 0x44415747;
+	// version 2 added the word lengths of the states
+	private static final int VERSION = 2;
+	// magic, version, state count, edge count, root, size
+	private static final int HEADER_SIZE = 6 * 4;
+	// the greatest length stored in lengths, the longer ones are saturated
+	private static final int NO_LENGTH = 0xFFFF;
+	
+	// states[s] = (index of the first edge of s << 1) | 1 if s ends a word, states[stateCount] is a sentinel
+	private final IntBuffer states;
+	// letters of the edges, sorted inside each state
+	private final CharBuffer labels;
+	// state reached by each edge
+	private final IntBuffer targets;
+	// lengths[s] = (shortest << 16) | longest number of letters between s and the end of a word,
+	// both saturated at NO_LENGTH, (NO_LENGTH << 16) | 0 if no word ends after s
+	private final IntBuffer lengths;
+	private final int root;
+	private final int size;
+	// the words of each length already asked to getWordsOfLength(), one after the other in one array per length,
+	// only the lengths of words of the graph are kept, so there are at most as many arrays as lengths
+	private final Map<Integer, char[]> wordsOfLength = new ConcurrentHashMap<Integer, char[]>();
+	
+	/*
+	 * CONSTRUCTOR
+	 */
+	
+	/**
+	 * Constructor : compiles the nodes under root into a minimized graph.
+	 * @param root the root of a lexicographic tree
+	 */
+	Dawg(Node root) {
+		Builder builder = new Builder();
+		this.root = builder.register(root);
+		this.size = builder.counts[this.root];
+		
+		int[] states = Arrays.copyOf(builder.states, builder.stateCount + 1);
+		states[builder.stateCount] = builder.edgeCount << 1;
+		this.states = IntBuffer.wrap(states);
+		this.labels = CharBuffer.wrap(Arrays.copyOf(builder.labels, builder.edgeCount));
+		this.targets = IntBuffer.wrap(Arrays.copyOf(builder.targets, builder.edgeCount));
+		this.lengths = IntBuffer.wrap(Arrays.copyOf(builder.lengths, builder.stateCount));
+	}
+	
+	/**
+	 * Constructor : reads a graph from an image.
+	 * @param image the bytes of the image, from the header to the end of the labels
+	 * @throws IOException if the bytes are not a valid image
+	 */
+	private Dawg(ByteBuffer image) throws IOException {
+		image.order(ByteOrder.LITTLE_ENDIAN);
+		if(image.remaining() < HEADER_SIZE || image.getInt(0) != MAGIC) {
+			throw new IOException("Le fichier n'est pas une image de dictionnaire");
+		}
+		if(image.getInt(4) != VERSION) {
+			throw new IOException("Version d'image de dictionnaire non supportee : " + image.getInt(4));
+		}
+		
+		int stateCount = image.getInt(8);
+		int edgeCount = image.getInt(12);
+		this.root = image.getInt(16);
+		this.size = image.getInt(20);
+		if(stateCount < 1 || edgeCount < 0 || root < 0 || root >= stateCount || size < 0) {
+			throw new IOException("L'en-tete de l'image de dictionnaire est invalide");
+		}
+		
+		//the sizes are computed with longs, so huge counts cannot overflow and pass the check
+		long targetsStart = HEADER_SIZE + (stateCount + 1L) * 4;
+		long lengthsStart = targetsStart + edgeCount * 4L;
+		long labelsStart = lengthsStart + stateCount * 4L;
+		if(image.limit() < labelsStart + edgeCount * 2L) {
+			throw new IOException("L'image de dictionnaire est tronquee");
+		}
+		int statesStart = HEADER_SIZE;
+		
+		this.states = section(image, statesStart, (int) targetsStart).asIntBuffer();
+		this.targets = section(image, (int) targetsStart, (int) lengthsStart).asIntBuffer();
+		this.lengths = section(image, (int) lengthsStart, (int) labelsStart).asIntBuffer();
+		this.labels = section(image, (int) labelsStart, (int) labelsStart + edgeCount * 2).asCharBuffer();
+	}
+	
+	/**
+	 * Opens an image written by write(). The file is mapped in memory and is not copied in the heap,
+	 * so opening it is almost instant and the lookups read the mapped pages directly.
+	 * @param filename The image file
+	 * @return A dictionary backed by the mapped file
+	 * @throws IOException if the file cannot be read or is not a valid image
+	 */
+	public static Dawg open(String filename) throws IOException {
+		try(FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			//the mapping stays valid after the channel is closed
+			return new Dawg(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+	
+	/*
+	 * PUBLIC METHODS
+	 */
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public boolean containsWord(CharSequence word) {
+		if(word == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		
+		//like in the tree, a blank word is the empty word
+		if(LexicographicTree.isBlank(word)) {
+			return isFinal(root);
+		}
+		
+		int state = findState(word);
+		return state >= 0 && isFinal(state);
+	}
+	
+	@Override
+	public boolean containsPrefix(CharSequence prefix) {
+		return findState(prefix) >= 0;
+	}
+	
+	@Override
+	public List<String> getWords(String prefix) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		
+		List<String> words = new ArrayList<String>();
+		if(prefix.isBlank()) prefix = "";
+		
+		int state = findState(prefix);
+		if(state < 0) return words;
+		
+		collectWords(state, new StringBuilder(prefix), words);
+		return words;
+	}
+	
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		if(length <= 0 || !mayHaveWordLength(root, length)) return new ArrayList<String>();
+		
+		//the graph is only walked the first time a length is asked, the next calls only create the Strings of the list
+		char[] packed = wordsOfLength.computeIfAbsent(length, key -> {
+			//the walk only enters the states that have a word of the remaining length under them
+			StringBuilder collected = new StringBuilder();
+			collectWordsOfLength(root, new char[key], 0, collected);
+			
+			char[] letters = new char[collected.length()];
+			collected.getChars(0, letters.length, letters, 0);
+			return letters;
+		});
+		
+		List<String> words = new ArrayList<String>(packed.length / length);
+		for(int start = 0; start < packed.length; start += length) {
+			words.add(new String(packed, start, length));
+		}
+		return words;
+	}
+	
+	@Override
+	public TrieCursor cursor() {
+		return new StateCursor();
+	}
+	
+	/**
+	 * Writes the graph in a binary image that can be opened with open().
+	 * @param filename The image file, it is replaced if it already exists
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(String filename) throws IOException {
+		int stateCount = stateCount();
+		int edgeCount = edgeCount();
+		ByteBuffer image = ByteBuffer.allocate(HEADER_SIZE + (stateCount + 1) * 4 + edgeCount * 6 + stateCount * 4).order(ByteOrder.LITTLE_ENDIAN);
+		
+		image.putInt(MAGIC).putInt(VERSION).putInt(stateCount).putInt(edgeCount).putInt(root).putInt(size);
+		for(int i = 0; i <= stateCount; i++) image.putInt(states.get(i));
+		for(int i = 0; i < edgeCount; i++) image.putInt(targets.get(i));
+		for(int i = 0; i < stateCount; i++) image.putInt(lengths.get(i));
+		for(int i = 0; i < edgeCount; i++) image.putChar(labels.get(i));
+		image.flip();
+		
+		Path path = Paths.get(filename);
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while(image.hasRemaining()) channel.write(image);
+		}
+	}
+	
+	/**
+	 * Returns the number of states of the graph.
+	 * @return The number of states
+	 */
+	public int stateCount() {
+		return states.limit() - 1;
+	}
+	
+	/**
+	 * Returns the number of edges (letters) of the graph.
+	 * @return The number of edges
+	 */
+	public int edgeCount() {
+		return labels.limit();
+	}
+	
+	/**
+	 * Returns the number of bytes used by the arrays of the graph.
+	 * @return The size of the arrays in bytes
+	 */
+	public long memoryFootprint() {
+		return states.limit() * 4L + labels.limit() * 2L + targets.limit() * 4L + lengths.limit() * 4L;
+	}
+	
+	/*
+	 * PRIVATE METHODS
+	 */
+	
+	/**
+	 * get the bytes of an image between two positions, with the byte order of the images
+	 * @param image the image
+	 * @param start the position of the first byte
+	 * @param end the position after the last byte
+	 * @return a view of the bytes
+	 */
+	private static ByteBuffer section(ByteBuffer image, int start, int end) {
+		return image.duplicate().position(start).limit(end).slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * 
+	 * @param state a state
+	 * @return true if the state ends a word
+	 */
+	private boolean isFinal(int state) {
+		return (states.get(state) & 1) != 0;
+	}
+	
+	/**
+	 * check if a word of the given number of letters can end after a state, like Node.mayHaveWordLength
+	 * @param state a state
+	 * @param length the number of letters between the state and the end of the word
+	 * @return false if no word after the state has this length, true if one may have it
+	 */
+	private boolean mayHaveWordLength(int state, int length) {
+		int stateLengths = lengths.get(state);
+		int longest = stateLengths & NO_LENGTH;
+		
+		return length >= stateLengths >>> 16 && (length <= longest || longest == NO_LENGTH);
+	}
+	
+	/**
+	 * get the state reached from state with the letter, with a binary search on the edges of the state
+	 * @param state the current state
+	 * @param letter the letter to follow
+	 * @return the reached state, -1 if there is no edge with this letter
+	 */
+	private int child(int state, char letter) {
+		int low = states.get(state) >>> 1;
+		int high = (states.get(state + 1) >>> 1) - 1;
+		
+		while(low <= high) {
+			int middle = (low + high) >>> 1;
+			char middleLetter = labels.get(middle);
+			
+			if(middleLetter < letter) low = middle + 1;
+			else if(middleLetter > letter) high = middle - 1;
+			else return targets.get(middle);
+		}
+		return -1;
+	}
+	
+	/**
+	 * follow the letters of the sequence from the root
+	 * @param sequence the letters to follow
+	 * @return the state of the last letter, -1 if the path doesnt exist
+	 */
+	private int findState(CharSequence sequence) {
+		int state = root;
+		
+		for(int i = 0; i < sequence.length() && state >= 0; i++) {
+			state = child(state, sequence.charAt(i));
+		}
+		return state;
+	}
+	
+	/**
+	 * add to words every word that can be reached from state, in alphabetic order
+	 * @param state the current state
+	 * @param word the letters from the root to state
+	 * @param words the list of words
+	 */
+	private void collectWords(int state, StringBuilder word, List<String> words) {
+		if(isFinal(state)) words.add(word.toString());
+		
+		int end = states.get(state + 1) >>> 1;
+		for(int edge = states.get(state) >>> 1; edge < end; edge++) {
+			word.append(labels.get(edge));
+			collectWords(targets.get(edge), word, words);
+			word.setLength(word.length() - 1);
+		}
+	}
+	
+	/**
+	 * append to packed every word of the length of word that can be reached from state, in alphabetic order
+	 * @param state the current state
+	 * @param word the letters from the root to state in its first depth cells, its length is the length of the words
+	 * @param depth the number of letters from the root to state
+	 * @param packed the letters of the words, one word after the other
+	 */
+	private void collectWordsOfLength(int state, char[] word, int depth, StringBuilder packed) {
+		if(!mayHaveWordLength(state, word.length - depth)) return;
+		
+		if(depth == word.length) {
+			if(isFinal(state)) packed.append(word);
+			return;
+		}
+		
+		int end = states.get(state + 1) >>> 1;
+		for(int edge = states.get(state) >>> 1; edge < end; edge++) {
+			word[depth] = labels.get(edge);
+			collectWordsOfLength(targets.get(edge), word, depth + 1, packed);
+		}
+	}
+	
+	/*
+	 * BUILDER
+	 */
+	
+	/**
+	 * register the nodes of the tree from the leaves to the root,
+	 * two nodes with the same signature (isWord + letters and states of the children) become the same state
+	 */
+	private static class Builder {
+		
+		private final Map<String, Integer> registry = new HashMap<String, Integer>();
+		private int[] states = new int[1024];
+		private int[] counts = new int[1024];
+		private int[] lengths = new int[1024];
+		private char[] labels = new char[1024];
+		private int[] targets = new int[1024];
+		private int stateCount;
+		private int edgeCount;
+		
+		/**
+		 * register the node and its children
+		 * @param node the node to register
+		 * @return the state of the node
+		 */
+		private int register(Node node) {
+			int[] childStates = new int[node.getChildCount()];
+			StringBuilder signature = new StringBuilder(1 + childStates.length * 3);
+			signature.append(node.isWord() ? '1' : '0');
+			
+			for(int i = 0; i < childStates.length; i++) {
+				childStates[i] = register(node.getChildAt(i));
+				signature.append(node.getChildAt(i).getLetter());
+				signature.append((char) (childStates[i] >>> 16)).append((char) childStates[i]);
+			}
+			
+			Integer known = registry.putIfAbsent(signature.toString(), stateCount);
+			if(known != null) return known;
+			
+			//the node is new, its edges are added after the edges of the previous state
+			if(stateCount + 1 >= states.length) {
+				states = Arrays.copyOf(states, states.length * 2);
+				counts = Arrays.copyOf(counts, counts.length * 2);
+				lengths = Arrays.copyOf(lengths, lengths.length * 2);
+			}
+			if(edgeCount + childStates.length > labels.length) {
+				labels = Arrays.copyOf(labels, Math.max(labels.length * 2, edgeCount + childStates.length));
+				targets = Arrays.copyOf(targets, labels.length);
+			}
+			
+			int count = node.isWord() ? 1 : 0;
+			int shortest = node.isWord() ? 0 : NO_LENGTH;
+			int longest = 0;
+			states[stateCount] = (edgeCount << 1) | count;
+			
+			for(int i = 0; i < childStates.length; i++) {
+				labels[edgeCount] = node.getChildAt(i).getLetter();
+				targets[edgeCount] = childStates[i];
+				count += counts[childStates[i]];
+				shortest = Math.min(shortest, Math.min((lengths[childStates[i]] >>> 16) + 1, NO_LENGTH));
+				longest = Math.max(longest, Math.min((lengths[childStates[i]] & NO_LENGTH) + 1, NO_LENGTH));
+				edgeCount++;
+			}
+			counts[stateCount] = count;
+			lengths[stateCount] = (shortest << 16) | longest;
+			return stateCount++;
+		}
+	}
+	
+	/*
+	 * CURSOR
+	 */
+	
+	/**
+	 * cursor that keeps the states of the current prefix in a stack
+	 */
+	private class StateCursor implements TrieCursor {
+		
+		private int[] path = new int[32];
+		private int depth;
+		
+		/**
+		 * constructor
+		 */
+		private StateCursor() {
+			path[0] = root;
+		}
+		
+		@Override
+		public boolean advance(char letter) {
+			int state = child(path[depth], letter);
+			if(state < 0) return false;
+			
+			if(depth + 1 == path.length) path = Arrays.copyOf(path, path.length * 2);
+			path[++depth] = state;
+			return true;
+		}
+		
+		@Override
+		public void backtrack() {
+			if(depth == 0) throw new IllegalStateException("Le curseur est deja sur le prefixe vide");
+			
+			depth--;
+		}
+		
+		@Override
+		public boolean isWord() {
+			return isFinal(path[depth]);
+		}
+		
+		@Override
+		public boolean hasChildren() {
+			int state = path[depth];
+			return states.get(state + 1) >>> 1 > states.get(state) >>> 1;
+		}
+		
+		@Override
+		public int depth() {
+			return depth;
+		}
+		
+		@Override
+		public void reset() {
+			depth = 0;
+		}
+	}
+}
@@ -0,0 +1,415 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import models.Node;
+
+/**
+ * Read-only dictionary stored as a double-array trie.
+ * Each letter is mapped to a small code, and the child of a state s for a letter of code c is the cell t = base[s] + c,
+ * which exists only if check[t] == s. A lookup is a few reads in two int arrays, without following any reference.
+ */
+public class DoubleArrayTrie implements WordDictionary {
+	
+	private static final int FREE = -1;
+	private static final int ROOT = 0;
+	
+	// code of each letter, 0 if the letter is not in the dictionary
+	private final int[] codes;
+	// letter of each code, the codes follow the alphabetic order
+	private final char[] letters;
+	// offset of the children of each state, 0 if the state doesnt have any child
+	private final int[] base;
+	// parent of each state, FREE if the cell is not used
+	private final int[] check;
+	// bitset of the states that end a word
+	private final long[] words;
+	private final int size;
+	
+	/*
+	 * CONSTRUCTORS
+	 */
+	
+	/**
+	 * Constructor : creates a double-array trie that contains the words of a lexicographic tree.
+	 * @param tree A lexicographic tree
+	 */
+	public DoubleArrayTrie(LexicographicTree tree) {
+		Node root = tree.getRoot();
+		
+		//give a code to each letter of the tree, in alphabetic order
+		boolean[] present = new boolean[Character.MAX_VALUE + 1];
+		markLetters(root, present);
+		
+		int maxLetter = 0;
+		int letterCount = 0;
+		for(int c = 0; c < present.length; c++) {
+			if(present[c]) {
+				maxLetter = c;
+				letterCount++;
+			}
+		}
+		
+		this.codes = new int[maxLetter + 1];
+		this.letters = new char[letterCount + 1];
+		int code = 0;
+		for(int c = 0; c <= maxLetter; c++) {
+			if(present[c]) {
+				codes[c] = ++code;
+				letters[code] = (char) c;
+			}
+		}
+		
+		Builder builder = new Builder(letterCount);
+		builder.place(root, ROOT);
+		
+		this.size = builder.size;
+		int length = builder.maxUsed + letterCount + 1;
+		this.base = Arrays.copyOf(builder.base, length);
+		this.check = Arrays.copyOf(builder.check, length);
+		this.words = Arrays.copyOf(builder.words, (length + 63) / 64);
+	}
+	
+	/**
+	 * Constructor : creates a double-array trie populated with words.
+	 * @param filename A text file containing the words to be inserted in the trie
+	 */
+	public DoubleArrayTrie(String filename) {
+		this(new LexicographicTree(filename));
+	}
+	
+	/*
+	 * PUBLIC METHODS
+	 */
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public boolean containsWord(CharSequence word) {
+		if(word == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		
+		//like in the tree, a blank word is the empty word
+		if(LexicographicTree.isBlank(word)) {
+			return isWord(ROOT);
+		}
+		
+		int state = findState(word);
+		return state >= 0 && isWord(state);
+	}
+	
+	@Override
+	public boolean containsPrefix(CharSequence prefix) {
+		return findState(prefix) >= 0;
+	}
+	
+	@Override
+	public List<String> getWords(String prefix) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		
+		List<String> words = new ArrayList<String>();
+		if(prefix.isBlank()) prefix = "";
+		
+		int state = findState(prefix);
+		if(state < 0) return words;
+		
+		collectWords(state, new StringBuilder(prefix), words);
+		return words;
+	}
+	
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> words = new ArrayList<String>();
+		if(length <= 0) return words;
+		
+		collectWordsOfLength(ROOT, new StringBuilder(length), length, words);
+		return words;
+	}
+	
+	@Override
+	public TrieCursor cursor() {
+		return new ArrayCursor();
+	}
+	
+	/**
+	 * Returns the number of cells of the base and check arrays.
+	 * @return The length of the arrays
+	 */
+	public int capacity() {
+		return base.length;
+	}
+	
+	/**
+	 * Returns the number of bytes used by the arrays of the trie.
+	 * @return The size of the arrays in bytes
+	 */
+	public long memoryFootprint() {
+		return codes.length * 4L + letters.length * 2L + base.length * 4L + check.length * 4L + words.length * 8L;
+	}
+	
+	/*
+	 * PRIVATE METHODS
+	 */
+	
+	/**
+	 * 
+	 * @param state a state
+	 * @return true if the state ends a word
+	 */
+	private boolean isWord(int state) {
+		return (words[state >>> 6] & (1L << state)) != 0;
+	}
+	
+	/**
+	 * get the state reached from state with the letter
+	 * @param state the current state
+	 * @param letter the letter to follow
+	 * @return the reached state, -1 if there is no child with this letter
+	 */
+	private int child(int state, char letter) {
+		if(letter >= codes.length || codes[letter] == 0 || base[state] == 0) return -1;
+		
+		int target = base[state] + codes[letter];
+		return check[target] == state ? target : -1;
+	}
+	
+	/**
+	 * follow the letters of the sequence from the root
+	 * @param sequence the letters to follow
+	 * @return the state of the last letter, -1 if the path doesnt exist
+	 */
+	private int findState(CharSequence sequence) {
+		int state = ROOT;
+		
+		for(int i = 0; i < sequence.length() && state >= 0; i++) {
+			state = child(state, sequence.charAt(i));
+		}
+		return state;
+	}
+	
+	/**
+	 * add to words every word that can be reached from state, in alphabetic order
+	 * @param state the current state
+	 * @param word the letters from the root to state
+	 * @param words the list of words
+	 */
+	private void collectWords(int state, StringBuilder word, List<String> words) {
+		if(isWord(state)) words.add(word.toString());
+		if(base[state] == 0) return;
+		
+		for(int code = 1; code < letters.length; code++) {
+			int target = base[state] + code;
+			
+			if(check[target] == state) {
+				word.append(letters[code]);
+				collectWords(target, word, words);
+				word.setLength(word.length() - 1);
+			}
+		}
+	}
+	
+	/**
+	 * add to words every word of the remaining length that can be reached from state, in alphabetic order
+	 * @param state the current state
+	 * @param word the letters from the root to state
+	 * @param remaining the number of letters that are still missing
+	 * @param words the list of words
+	 */
+	private void collectWordsOfLength(int state, StringBuilder word, int remaining, List<String> words) {
+		if(remaining == 0) {
+			if(isWord(state)) words.add(word.toString());
+			return;
+		}
+		if(base[state] == 0) return;
+		
+		for(int code = 1; code < letters.length; code++) {
+			int target = base[state] + code;
+			
+			if(check[target] == state) {
+				word.append(letters[code]);
+				collectWordsOfLength(target, word, remaining - 1, words);
+				word.setLength(word.length() - 1);
+			}
+		}
+	}
+	
+	/**
+	 * mark every letter used in the tree under node
+	 * @param node the current node
+	 * @param present the array where the letters are marked
+	 */
+	private static void markLetters(Node node, boolean[] present) {
+		for(int i = 0; i < node.getChildCount(); i++) {
+			Node child = node.getChildAt(i);
+			present[child.getLetter()] = true;
+			markLetters(child, present);
+		}
+	}
+	
+	/*
+	 * BUILDER
+	 */
+	
+	/**
+	 * place the nodes of the tree in the arrays, depth first,
+	 * the children of a node are placed at the first offset where all their cells are free
+	 */
+	private class Builder {
+		
+		private int[] base = new int[1024];
+		private int[] check = new int[1024];
+		private long[] words = new long[16];
+		private final int letterCount;
+		// the cells before this position are almost all used, the search of an offset starts here
+		private int nextCheckPos = 1;
+		private int maxUsed;
+		private int size;
+		
+		/**
+		 * constructor
+		 * @param letterCount the number of codes
+		 */
+		private Builder(int letterCount) {
+			this.letterCount = letterCount;
+			Arrays.fill(check, FREE);
+			check[ROOT] = ROOT;
+		}
+		
+		/**
+		 * place the children of node and, recursively, their own children
+		 * @param node the node already placed in the cell state
+		 * @param state the cell of the node
+		 */
+		private void place(Node node, int state) {
+			if(node.isWord()) {
+				words[state >>> 6] |= 1L << state;
+				size++;
+			}
+			if(node.isLeaf()) return;
+			
+			int[] childCodes = new int[node.getChildCount()];
+			for(int i = 0; i < childCodes.length; i++) {
+				childCodes[i] = codes[node.getChildAt(i).getLetter()];
+			}
+			
+			int offset = findOffset(childCodes);
+			base[state] = offset;
+			//reserve the cells of all the children before placing their own children
+			for(int childCode : childCodes) {
+				check[offset + childCode] = state;
+				maxUsed = Math.max(maxUsed, offset + childCode);
+			}
+			for(int i = 0; i < childCodes.length; i++) {
+				place(node.getChildAt(i), offset + childCodes[i]);
+			}
+		}
+		
+		/**
+		 * search the first offset where the cells of all the codes are free
+		 * @param childCodes the codes of the children, sorted
+		 * @return the offset
+		 */
+		private int findOffset(int[] childCodes) {
+			int position = Math.max(childCodes[0], nextCheckPos) - 1;
+			int used = 0;
+			boolean first = true;
+			
+			while(true) {
+				position++;
+				ensureCapacity(position + letterCount + 1);
+				
+				if(check[position] != FREE) {
+					used++;
+					continue;
+				}
+				if(first) {
+					nextCheckPos = position;
+					first = false;
+				}
+				
+				int offset = position - childCodes[0];
+				if(offset < 1) continue;
+				
+				boolean free = true;
+				for(int i = 1; i < childCodes.length && free; i++) {
+					free = check[offset + childCodes[i]] == FREE;
+				}
+				
+				if(free) {
+					//when the beginning of the arrays is full, the next searches start further
+					if(used * 20 >= (position - nextCheckPos + 1) * 19) nextCheckPos = position;
+					return offset;
+				}
+			}
+		}
+		
+		/**
+		 * grow the arrays so they have at least capacity cells
+		 * @param capacity the needed number of cells
+		 */
+		private void ensureCapacity(int capacity) {
+			if(capacity <= base.length) return;
+			
+			int oldLength = base.length;
+			int newLength = Math.max(capacity, oldLength * 2);
+			base = Arrays.copyOf(base, newLength);
+			check = Arrays.copyOf(check, newLength);
+			Arrays.fill(check, oldLength, newLength, FREE);
+			words = Arrays.copyOf(words, (newLength + 63) / 64);
+		}
+	}
+	
+	/*
+	 * CURSOR
+	 */
+	
+	/**
+	 * cursor that keeps the states of the current prefix in a stack
+	 */
+	private class ArrayCursor implements TrieCursor {
+		
+		private int[] path = new int[32];
+		private int depth;
+		
+		@Override
+		public boolean advance(char letter) {
+			int state = child(path[depth], letter);
+			if(state < 0) return false;
+			
+			if(depth + 1 == path.length) path = Arrays.copyOf(path, path.length * 2);
+			path[++depth] = state;
+			return true;
+		}
+		
+		@Override
+		public void backtrack() {
+			if(depth == 0) throw new IllegalStateException("Le curseur est deja sur le prefixe vide");
+			
+			depth--;
+		}
+		
+		@Override
+		public boolean isWord() {
+			return DoubleArrayTrie.this.isWord(path[depth]);
+		}
+		
+		@Override
+		public boolean hasChildren() {
+			return base[path[depth]] != 0;
+		}
+		
+		@Override
+		public int depth() {
+			return depth;
+		}
+		
+		@Override
+		public void reset() {
+			depth = 0;
+		}
+	}
+}
@@ -5,22 +5,44 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
 
 import models.Node;
  
-public class LexicographicTree {
+public class LexicographicTree implements WordDictionary {
 	
 	private Node root;
+	// the words written backwards, null until enableReverseIndex() is called
+	private LexicographicTree reversed;
 	
 	//TODO verifier argument ? null ? char special ? espace ?
 	
@@ -42,13 +64,10 @@ public class LexicographicTree {
 	public LexicographicTree(String filename) {
 		this();
 		
-		try(BufferedReader reader = Files.newBufferedReader(Paths.get(filename))){
-			String line;
-			while((line = reader.readLine()) != null) {
-				insertWord(line);
-			}
+		try {
+			insertWords(Paths.get(filename));
 		} 
-		catch (FileNotFoundException e) {
+		catch (FileNotFoundException | NoSuchFileException e) {
 			System.out.println("Fichier non trouvé");
 		}
 		catch (IOException e) {
@@ -56,247 +75,1422 @@ public class LexicographicTree {
 		}
 	}
 	
+	/**
+	 * Creates a lexicographic tree populated with words, building the branches of the first letters in parallel.
+	 * The file is mapped once and its lines are grouped by their first letter without decoding them,
+	 * each group is parsed from the bytes like the constructor does, in its own tree, by a task of the common ForkJoinPool,
+	 * then the branches are put under the root.
+	 * The result is the same as the constructor with a filename.
+	 * @param filename A text file containing the words to be inserted in the tree
+	 * @return The lexicographic tree
+	 */
+	public static LexicographicTree loadInParallel(String filename) {
+		LexicographicTree tree = new LexicographicTree();
+		
+		ByteBuffer bytes;
+		try {
+			bytes = map(Paths.get(filename));
+		}
+		catch (NoSuchFileException e) {
+			System.out.println("Fichier non trouvé");
+			return tree;
+		}
+		catch (IOException e) {
+			System.out.println("Une erreur est survenue lors de la lecture du fichier");
+			return tree;
+		}
+		
+		//the start and the end of the lines, grouped by their first allowed ASCII character,
+		//the lines without any, or with a non ASCII byte before it, are inserted after the branches
+		int[][] groups = new int[128][];
+		int[] groupSizes = new int[128];
+		int[] others = new int[16];
+		int otherSize = 0;
+		int end = bytes.limit();
+		int start = 0;
+			
+		while(start < end) {
+			int key = -1;
+			int position = start;
+			
+			for(; position < end; position++) {
+				byte b = bytes.get(position);
+				if(b == '\n' || b == '\r') break;
+				
+				if(key == -1 && (b < 0 || isAllowedCharacter((char) b))) key = b;
+			}
+			
+			if(key > 0) {
+				if(groups[key] == null) groups[key] = new int[64];
+				else if(groupSizes[key] == groups[key].length) groups[key] = Arrays.copyOf(groups[key], groupSizes[key] * 2);
+				groups[key][groupSizes[key]++] = start;
+				groups[key][groupSizes[key]++] = position;
+			}
+			else {
+				if(otherSize == others.length) others = Arrays.copyOf(others, otherSize * 2);
+				others[otherSize++] = start;
+				others[otherSize++] = position;
+			}
+			start = nextLine(bytes, position);
+		}
+		
+		//each task builds the branch of one letter in a tree that no other task uses
+		List<ForkJoinTask<Node>> tasks = new ArrayList<ForkJoinTask<Node>>();
+		for(int key = 0; key < groups.length; key++) {
+			if(groups[key] == null) continue;
+			
+			int[] lines = groups[key];
+			int lineCount = groupSizes[key];
+			char letter = (char) key;
+			tasks.add(ForkJoinTask.adapt(() -> {
+				LexicographicTree branch = new LexicographicTree();
+				LineInserter inserter = branch.new LineInserter();
+				for(int i = 0; i < lineCount; i += 2) {
+					inserter.insertLine(bytes, lines[i], lines[i + 1]);
+				}
+				return branch.root.getChild(letter);
+			}));
+		}
+		for(ForkJoinTask<Node> task : tasks) {
+			ForkJoinPool.commonPool().execute(task);
+		}
+		
+		try {
+			//the counters of the root are the sums of the branches, one letter longer
+			for(ForkJoinTask<Node> task : tasks) {
+				Node branch = task.join();
+			
+				tree.root.addChild(branch);
+				tree.root.updateWordCount(branch.getWordCount());
+				tree.root.addWordLength(branch.getMinWordLength() + 1);
+				tree.root.addWordLength(branch.getMaxWordLength() + 1);
+			}
+			
+			//the first letter of these lines is only known once they are decoded, it may be the letter of a branch
+			LineInserter inserter = tree.new LineInserter();
+			for(int i = 0; i < otherSize; i += 2) {
+				inserter.insertLine(bytes, others[i], others[i + 1]);
+			}
+		}
+		catch (UncheckedIOException e) {
+			//a line is not valid UTF-8, the file cannot be read
+			System.out.println("Une erreur est survenue lors de la lecture du fichier");
+			return new LexicographicTree();
+		}
+		return tree;
+	}
+	
+	/**
+	 * Creates a lexicographic tree from words already sorted in alphabetic order, in one pass.
+	 * Each word only creates the nodes after the prefix it shares with the previous word,
+	 * and they are appended after the last children, so no child is searched.
+	 * The order is checked on the words without their skipped characters, the duplicates are ignored.
+	 * @param words The words, sorted like String.compareTo()
+	 * @return The lexicographic tree
+	 * @throws IllegalArgumentException if a word is null or before the previous word
+	 */
+	public static LexicographicTree fromSortedWords(Iterable<String> words) {
+		if(words == null) throw new IllegalArgumentException("L'argument words ne doit pas etre null");
+		
+		LexicographicTree tree = new LexicographicTree();
+		// path[d] is the node of the first d letters of the previous word
+		Node[] path = new Node[32];
+		path[0] = tree.root;
+		char[] previous = new char[32];
+		char[] current = new char[32];
+		int previousLength = -1;
+		
+		for(String word : words) {
+			if(word == null) throw new IllegalArgumentException("L'argument words ne doit pas contenir null");
+			
+			//same filter as insertWord()
+			int length = 0;
+			for(int i = 0; i < word.length(); i++) {
+				char c = word.charAt(i);
+				if(!isAllowedCharacter(c)) continue;
+				
+				if(length == current.length) current = Arrays.copyOf(current, length * 2);
+				current[length++] = c;
+			}
+			
+			int common = 0;
+			while(common < length && common < previousLength && current[common] == previous[common]) common++;
+			
+			if(previousLength >= 0) {
+				if(common == length && length == previousLength) continue;
+				if(common == length || (common < previousLength && current[common] < previous[common])) {
+					throw new IllegalArgumentException("Les mots doivent etre tries, " + word + " est avant le mot precedent");
+				}
+			}
+			
+			//the nodes of the shared prefix are kept, the others are new
+			if(length >= path.length) path = Arrays.copyOf(path, Math.max(length + 1, path.length * 2));
+			for(int d = common; d < length; d++) {
+				path[d + 1] = path[d].appendChild(current[d]);
+			}
+			addWordOnPath(path, length);
+			
+			char[] swap = previous;
+			previous = current;
+			current = swap;
+			previousLength = length;
+		}
+		return tree;
+	}
+	
+	/**
+	 * Creates a lexicographic tree from a file of words already sorted in alphabetic order, one word per line.
+	 * @param file A text file containing the sorted words
+	 * @return The lexicographic tree
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if a word is before the previous word
+	 */
+	public static LexicographicTree fromSortedWords(Path file) throws IOException {
+		try(BufferedReader reader = Files.newBufferedReader(file)){
+			return fromSortedWords(() -> reader.lines().iterator());
+		}
+		catch (UncheckedIOException e) {
+			//the lines of the reader can only throw unchecked exceptions
+			throw e.getCause();
+		}
+	}
+	
 	/*
 	 * PUBLIC METHODS
 	 */
 	
 	/**
-	 * Returns the number of words present in the lexicographic tree.
-	 * @return The number of words present in the lexicographic tree
+	 * Returns the number of words present in the lexicographic tree.
+	 * @return The number of words present in the lexicographic tree
+	 */
+	public int size() {
+		//the root counts every word of the tree
+		return root.getWordCount();
+	}
+
+	/**
+	 * Inserts a word in the lexicographic tree if not already present.
+	 * @param word A word
+	 */
+	public void insertWord(String word) {
+		Node actualNode = root;
+		int length = 0;
+		
+		//checks each character to skip the bad ones, the good ones are directly inserted
+		//an empty word ends on the root, so the property isWord of the root is set to true
+		for(int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			
+			if (isAllowedCharacter(c)) {
+				actualNode = actualNode.getOrAddChild(c);
+				length++;
+			}
+		}
+		
+		if(actualNode.isWord()) return;
+		
+		//once we have searched the whole word, I set the property isWord of the node that contains the last character to true
+		actualNode.setIsWord();
+		
+		//the word is new, so each node of its path has one more word under it, that ends length letters further
+		actualNode = root;
+		actualNode.updateWordCount(1);
+		actualNode.addWordLength(length);
+		for(int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			
+			if (isAllowedCharacter(c)) {
+				actualNode = actualNode.getChild(c);
+				actualNode.updateWordCount(1);
+				actualNode.addWordLength(--length);
+			}
+		}
+		
+		if(reversed != null) reversed.insertWord(reverse(word));
+	}
+	
+	/**
+	 * Removes a word from the lexicographic tree, the nodes that dont lead to any other word are removed too.
+	 * The characters are filtered like in insertWord().
+	 * @param word A word
+	 * @return True if the word was in the tree, false otherwise
+	 */
+	public boolean removeWord(String word) {
+		if(word == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		
+		Node[] path = new Node[word.length() + 1];
+		path[0] = root;
+		int length = 0;
+		
+		for(int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			if(!isAllowedCharacter(c)) continue;
+			
+			path[length + 1] = path[length].getChild(c);
+			if(path[length + 1] == null) return false;
+			length++;
+		}
+		
+		if(!path[length].isWord()) return false;
+		
+		path[length].clearIsWord();
+		removeFromPath(path, length, 1);
+		
+		if(reversed != null) reversed.removeWord(reverse(word));
+		return true;
+	}
+	
+	/**
+	 * Removes all the words starting with the supplied prefix, with their nodes.
+	 * If 'prefix' is an empty string, all words are removed.
+	 * @param prefix Expected prefix
+	 * @return The number of removed words
+	 */
+	public int removePrefix(String prefix) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument prefix ne doit pas etre null");
+		if(prefix.isBlank()) prefix = "";
+		
+		Node[] path = new Node[prefix.length() + 1];
+		path[0] = root;
+		for(int i = 0; i < prefix.length(); i++) {
+			path[i + 1] = path[i].getChild(prefix.charAt(i));
+			if(path[i + 1] == null) return 0;
+		}
+		
+		int count = path[prefix.length()].getWordCount();
+		if(count == 0) return 0;
+		
+		if(reversed != null) {
+			LexicographicTree index = reversed;
+			forEachWord(prefix, word -> index.removeWord(reverse(word)));
+		}
+		
+		if(prefix.isEmpty()) {
+			root = new Node(' ', false);
+		}
+		else {
+			removeFromPath(path, prefix.length(), count);
+		}
+		return count;
+	}
+	
+	/**
+	 * Determines if a word is present in the lexicographic tree.
+	 * @param word A word
+	 * @return True if the word is present, false otherwise
+	 */
+	public boolean containsWord(String word) {
+		return containsWord((CharSequence) word);
+	}
+	
+	/**
+	 * Determines if a word is present in the lexicographic tree.
+	 * The word can be held by a reusable buffer (StringBuilder, CharBuffer...), nothing is allocated.
+	 * @param word A word
+	 * @return True if the word is present, false otherwise
+	 */
+	public boolean containsWord(CharSequence word) {
+		if(word == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		
+		//if the word is blank,I check if the property isWord of the root is true or false
+		if(isBlank(word)) {
+			return root.isWord();
+		}
+		
+		Node actualNode = findNode(word);
+		
+		return actualNode != null && actualNode.isWord();
+	}
+	
+	/**
+	 * Determines if a prefix is present in the lexicographic tree.
+	 * @param prefix A prefix
+	 * @return True if at least one word starts with the prefix, false otherwise
+	 */
+	public boolean containsPrefix(String prefix) {
+		return containsPrefix((CharSequence) prefix);
+	}
+		
+	/**
+	 * Determines if a prefix is present in the lexicographic tree.
+	 * The prefix can be held by a reusable buffer (StringBuilder, CharBuffer...), nothing is allocated.
+	 * @param prefix A prefix
+	 * @return True if at least one word starts with the prefix, false otherwise
+	 */
+	public boolean containsPrefix(CharSequence prefix) {
+		return findNode(prefix) != null;
+	}
+	
+	/**
+	 * Determines if at least one word of the tree contains the fragment, at any position.
+	 * The tree is walked from each node, and the branches whose words are too short for the fragment are skipped.
+	 * @param fragment A fragment
+	 * @return True if a word contains the fragment, false otherwise
+	 */
+	public boolean containsSubstring(CharSequence fragment) {
+		if(fragment == null) throw new IllegalArgumentException("L'argument fragment ne doit pas etre null");
+		if(fragment.length() == 0) return size() > 0;
+		
+		return containsSubstringRecursive(root, fragment);
+	}
+	
+	/**
+	 * Builds an index of the words written backwards, so getWordsEndingWith() doesnt go through all the words.
+	 * The index is kept up to date by the next insertions. It is a second tree, about 1.4 times the size of this one
+	 * because the words share their beginnings more than their ends:
+	 * with the French dictionary, the heap goes from 30.9 MB for the tree to 75.0 MB with the index (about 44 MB for the index).
+	 * Calling it again does nothing.
+	 */
+	public void enableReverseIndex() {
+		if(reversed != null) return;
+		
+		LexicographicTree index = new LexicographicTree();
+		forEachWord("", word -> index.insertWord(reverse(word)));
+		reversed = index;
+	}
+	
+	/**
+	 * Returns an alphabetic list of all words ending with the supplied suffix.
+	 * If 'suffix' is an empty string, all words are returned.
+	 * @param suffix Expected suffix
+	 * @return The list of words ending with the supplied suffix
+	 * @throws IllegalStateException if enableReverseIndex() was not called
+	 */
+	public List<String> getWordsEndingWith(String suffix) {
+		if(suffix == null) throw new IllegalArgumentException("L'argument suffix ne doit pas etre null");
+		if(reversed == null) throw new IllegalStateException("L'index inverse doit etre construit avec enableReverseIndex()");
+		if(suffix.isBlank()) return getWords("");
+		
+		//the backward words are sorted by their end, so they are sorted again once turned around
+		List<String> words = new ArrayList<String>(reversed.countWithPrefix(reverse(suffix)));
+		reversed.forEachWord(reverse(suffix), word -> words.add(reverse(word)));
+		words.sort(null);
+		return words;
+	}
+	
+	/**
+	 * Returns the number of words starting with the supplied prefix, without going through them.
+	 * If 'prefix' is an empty string, all words are counted.
+	 * @param prefix Expected prefix
+	 * @return The number of words starting with the supplied prefix
+	 */
+	public int countWithPrefix(String prefix) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument prefix ne doit pas etre null");
+		if(prefix.isBlank()) return size();
+		
+		Node prefixNode = findNode(prefix);
+		return prefixNode == null ? 0 : prefixNode.getWordCount();
+	}
+	
+	/**
+	 * Returns the number of words of the tree that are before the supplied word in alphabetic order.
+	 * The word doesnt need to be in the tree, so rank(word) is also the position where it would be inserted.
+	 * @param word A word
+	 * @return The number of words strictly before the word
+	 */
+	public int rank(String word) {
+		if(word == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		
+		int rank = 0;
+		Node actualNode = root;
+		
+		for(int i = 0; i < word.length() && actualNode != null; i++) {
+			char c = word.charAt(i);
+			
+			//the prefix itself is before the word, like all the words of the children with a smaller letter
+			if(actualNode.isWord()) rank++;
+			for(int j = 0; j < actualNode.getChildCount() && actualNode.getChildAt(j).getLetter() < c; j++) {
+				rank += actualNode.getChildAt(j).getWordCount();
+			}
+			actualNode = actualNode.getChild(c);
+		}
+		return rank;
+	}
+	
+	/**
+	 * Returns the word at the supplied position in the alphabetic list of all words,
+	 * so that getWords("").get(index) equals select(index), without building the list.
+	 * @param index The position of the word, between 0 and size() - 1
+	 * @return The word at the position
+	 */
+	public String select(int index) {
+		if(index < 0 || index >= size()) throw new IllegalArgumentException("L'argument index doit etre compris entre 0 et size() - 1");
+		
+		StringBuilder word = new StringBuilder();
+		Node actualNode = root;
+		
+		//at each node, skip the whole children that are before the index
+		while(!actualNode.isWord() || index > 0) {
+			if(actualNode.isWord()) index--;
+			
+			for(int i = 0; i < actualNode.getChildCount(); i++) {
+				Node child = actualNode.getChildAt(i);
+				
+				if(index < child.getWordCount()) {
+					word.append(child.getLetter());
+					actualNode = child;
+					break;
+				}
+				index -= child.getWordCount();
+			}
+		}
+		return word.toString();
+	}
+	
+	/**
+	 * Returns an alphabetic list of all words starting with the supplied prefix.
+	 * If 'prefix' is an empty string, all words are returned.
+	 * @param prefix Expected prefix
+	 * @return The list of words starting with the supplied prefix
+	 */
+	public List<String> getWords(String prefix) {
+		List<String> words = new ArrayList<String>();
+		
+		forEachWord(prefix, word -> words.add(word.toString()));
+		return words;
+	}
+	
+	/**
+	 * Returns the first words starting with the supplied prefix, in alphabetic order.
+	 * If 'prefix' is an empty string, the first words of the tree are returned.
+	 * @param prefix Expected prefix
+	 * @param limit The maximum number of words returned
+	 * @return The list of at most limit words starting with the supplied prefix
+	 */
+	public List<String> getWords(String prefix, int limit) {
+		return getWords(prefix, 0, limit);
+	}
+	
+	/**
+	 * Returns a page of the alphabetic list of the words starting with the supplied prefix,
+	 * so that getWords(prefix, offset, limit) equals getWords(prefix).subList(offset, offset + limit) when the list is long enough.
+	 * The words before the page are skipped with the word counters of the nodes, they are not enumerated.
+	 * @param prefix Expected prefix
+	 * @param offset The number of words skipped
+	 * @param limit The maximum number of words returned
+	 * @return The list of at most limit words starting with the supplied prefix
+	 */
+	public List<String> getWords(String prefix, int offset, int limit) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		if(offset < 0) throw new IllegalArgumentException("L'argument offset doit etre positif");
+		if(prefix.isBlank()) prefix = "";
+		
+		WordIterator iterator = new WordIterator(findNode(prefix), prefix);
+		iterator.skip(offset);
+		return nextWords(iterator, limit);
+	}
+	
+	/**
+	 * Returns the words starting with the supplied prefix that come after a given word, in alphabetic order.
+	 * The last word of a page can be given as 'after' to get the next page, the previous pages are not enumerated again.
+	 * 'after' doesnt need to be in the tree nor to start with the prefix, a blank 'after' means no lower bound.
+	 * @param prefix Expected prefix
+	 * @param after The returned words are strictly after this word
+	 * @param limit The maximum number of words returned
+	 * @return The list of at most limit words starting with the supplied prefix
+	 */
+	public List<String> getWordsAfter(String prefix, String after, int limit) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		if(after == null) throw new IllegalArgumentException("L'argument after ne doit pas etre null");
+		if(prefix.isBlank()) prefix = "";
+		
+		//the words of the prefix that are before or equal to after are the first ones of the prefix,
+		//a blank after is not the empty word here, so it is checked before rank and containsWord
+		int notAfter = after.isBlank() ? 0 : rank(after) + (containsWord(after) ? 1 : 0) - rank(prefix);
+		
+		WordIterator iterator = new WordIterator(findNode(prefix), prefix);
+		if(notAfter > 0) iterator.skip(notAfter);
+		return nextWords(iterator, limit);
+	}
+	
+	/**
+	 * Gives each word starting with the supplied prefix to the visitor, in alphabetic order.
+	 * The words are built in a single buffer, so the visitor must copy the sequence (toString()) if it keeps it.
+	 * If 'prefix' is an empty string, all words are visited.
+	 * @param prefix Expected prefix
+	 * @param visitor Called once per word
+	 */
+	public void forEachWord(String prefix, Consumer<CharSequence> visitor) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		if(prefix.isBlank()) prefix = "";
+		
+		Node prefixNode = findNode(prefix);
+		
+		//if the tree doesnt contain the prefix, no word starts with it
+		if(prefixNode == null) return;
+		
+		forEachWordRecursive(prefixNode, new StringBuilder(prefix), visitor);
+	}
+	
+	/**
+	 * Returns an iterator over the words starting with the supplied prefix, in alphabetic order.
+	 * The words are found one by one, when next() is called, so stopping early costs only what was read.
+	 * The tree must not be modified while the iterator is used.
+	 * If 'prefix' is an empty string, all words are returned.
+	 * @param prefix Expected prefix
+	 * @return An iterator over the words starting with the supplied prefix
+	 */
+	public Iterator<String> iterator(String prefix) {
+		if(prefix == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		if(prefix.isBlank()) prefix = "";
+		
+		return new WordIterator(findNode(prefix), prefix);
+	}
+	
+	/**
+	 * Returns a sequential stream of the words starting with the supplied prefix, in alphabetic order.
+	 * The stream is lazy and knows its size, so limit() or count() dont go through all the words.
+	 * If 'prefix' is an empty string, all words are returned.
+	 * @param prefix Expected prefix
+	 * @return A stream of the words starting with the supplied prefix
+	 */
+	public Stream<String> stream(String prefix) {
+		Iterator<String> iterator = iterator(prefix);
+		int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+		
+		return StreamSupport.stream(Spliterators.spliterator(iterator, countWithPrefix(prefix), characteristics), false);
+	}
+
+	/**
+	 * Returns an alphabetic list of the words that can be written with some of the supplied letters,
+	 * each letter being used at most as many times as it is given. A '?' is a blank that can replace any letter.
+	 * @param letters The available letters, with a '?' for each blank
+	 * @return The list of words that can be written with the letters
+	 */
+	public List<String> findWordsFromLetters(String letters) {
+		return findWordsFromLetters(letters, false);
+	}
+	
+	/**
+	 * Returns an alphabetic list of the anagrams of the supplied letters: the words that use exactly all of them.
+	 * A '?' is a blank that can replace any letter.
+	 * @param letters The letters, with a '?' for each blank
+	 * @return The list of anagrams
+	 */
+	public List<String> findAnagrams(String letters) {
+		return findWordsFromLetters(letters, true);
+	}
+	
+	/**
+	 * Returns a lazy stream of the words that match a pattern, in alphabetic order.
+	 * '?' matches any one letter, '*' any sequence of letters, '[...]' one letter of a class, like "c?a*" or "[bc]?[^aeiou]e".
+	 * The branches that cannot match are abandoned during the walk, and the words are found when the stream reads them.
+	 * @param pattern A pattern
+	 * @return A stream of the words that match
+	 * @see WordPattern
+	 */
+	public Stream<String> match(String pattern) {
+		return match(WordPattern.compile(pattern));
+	}
+	
+	/**
+	 * Returns a lazy stream of the words that match an already compiled pattern, in alphabetic order.
+	 * @param pattern A compiled pattern
+	 * @return A stream of the words that match
+	 */
+	public Stream<String> match(WordPattern pattern) {
+		if(pattern == null) throw new IllegalArgumentException("L'argument pattern ne doit pas etre null");
+		
+		int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PatternIterator(root, pattern), characteristics), false);
+	}
+	
+	/**
+	 * Returns an alphabetic list of all words of a given length.
+	 * If 'length' is lower than or equal to zero, an empty list is returned.
+	 * @param length Expected word length
+	 * @return The list of words with the given length
+	 */
+	public List<String> getWordsOfLength(int length) {
+		List<String> words = new ArrayList<String>();
+		if(length <= 0 || !root.mayHaveWordLength(length)) return words;
+		
+		getWordsOfLengthRecursive(root, words, new StringBuilder(length), length);
+		return words;
+	}
+
+	/**
+	 * Returns an alphabetic list of the words that are at most maxDistance edits away from the supplied word,
+	 * an edit being the insertion, the deletion or the substitution of one letter (Levenshtein distance).
+	 * The tree is walked with one row of the distance table per letter, and a branch is abandoned
+	 * as soon as all the values of its row are greater than maxDistance.
+	 * @param word The searched word
+	 * @param maxDistance The maximum number of edits
+	 * @return The list of words within the distance
+	 */
+	public List<String> findWithinDistance(String word, int maxDistance) {
+		if(word == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+		if(maxDistance < 0) throw new IllegalArgumentException("L'argument maxDistance doit etre positif");
+		
+		List<String> words = new ArrayList<String>();
+		int length = word.length();
+		//no word of the tree is further than its length plus the length of the searched word,
+		//so a greater distance (like Integer.MAX_VALUE) gives the same words and would only make the rows bigger
+		maxDistance = Math.min(maxDistance, length + Math.max(root.getMaxWordLength(), 0));
+		
+		//a prefix longer than length + maxDistance is always too far, so the rows are allocated once for all the depths
+		int[][] rows = new int[length + maxDistance + 2][length + 1];
+		for(int j = 0; j <= length; j++) {
+			rows[0][j] = j;
+		}
+		if(root.isWord() && length <= maxDistance) words.add("");
+		
+		findWithinDistanceRecursive(root, word, maxDistance, rows, 0, new StringBuilder(), words);
+		return words;
+	}
+	
+	/**
+	 * Returns a cursor placed on the empty prefix of the lexicographic tree.
+	 * The cursor follows the tree node by node, it must not be shared between threads.
+	 * @return A new cursor
+	 */
+	public TrieCursor cursor() {
+		return new NodeCursor(root);
+	}
+	
+	/**
+	 * Returns the root of the tree, for the dictionaries that are built from it.
+	 * @return The node of the empty prefix
+	 */
+	Node getRoot() {
+		return root;
+	}
+	
+	/**
+	 * Compiles the lexicographic tree into a read-only minimized word graph (DAWG).
+	 * The words inserted after the call are not in the returned dictionary.
+	 * @return A compact dictionary that contains the same words
+	 */
+	public Dawg freeze() {
+		return new Dawg(root);
+	}
+	
+	/*
+	 * PRIVATE METHODS
+	 */
+	
+	/**
+	 * insert the words of a file, one word per line, reading the bytes of the file instead of decoding each line:
+	 * the lines that only contain ASCII bytes are inserted byte by byte,
+	 * the other lines are decoded in UTF-8, like with Files.newBufferedReader(), and given to insertWord()
+	 * @param file the file
+	 * @throws IOException if the file cannot be read or is not valid UTF-8
+	 */
+	private void insertWords(Path file) throws IOException {
+		ByteBuffer bytes = map(file);
+		LineInserter inserter = new LineInserter();
+		int end = bytes.limit();
+		int start = 0;
+		
+		try {
+			while(start < end) {
+				start = nextLine(bytes, inserter.insertLine(bytes, start, end));
+			}
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+			
+	/**
+	 * map a whole file in memory
+	 * @param file the file
+	 * @return the bytes of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	private static ByteBuffer map(Path file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+				
+	/**
+	 * get the start of the next line, the lines end like with readLine(): with '\n', '\r' or "\r\n"
+	 * @param bytes the bytes of the file
+	 * @param position the position of the end of the current line
+	 * @return the position of the first byte of the next line
+	 */
+	private static int nextLine(ByteBuffer bytes, int position) {
+		if(position + 1 < bytes.limit() && bytes.get(position) == '\r' && bytes.get(position + 1) == '\n') position++;
+		return position + 1;
+	}
+	
+	/**
+	 * mark the last node of a path as a word and count the word on each node of the path
+	 * @param path the nodes from the root to the end of the word
+	 * @param length the number of letters of the word
+	 */
+	private static void addWordOnPath(Node[] path, int length) {
+		path[length].setIsWord();
+		
+		for(int d = 0; d <= length; d++) {
+			path[d].updateWordCount(1);
+			path[d].addWordLength(length - d);
+		}
+	}
+	
+	/**
+	 * follow the letters of the sequence from the root, without allocating anything
+	 * @param sequence the letters to follow
+	 * @return the node of the last letter, null if the path doesnt exist
+	 */
+	private Node findNode(CharSequence sequence) {
+		Node actualNode = root;
+		
+		for(int i = 0; i < sequence.length() && actualNode != null; i++) {
+			actualNode = actualNode.getChild(sequence.charAt(i));
+		}
+		return actualNode;
+	}
+	
+	/**
+	 * update the nodes of a path after some words under its last node were removed,
+	 * from the bottom to the root: the nodes without any word left are removed from their parent,
+	 * the others count less words and compute their lengths again
+	 * @param path the nodes from the root to the node of the removed words
+	 * @param depth the depth of the last node of the path
+	 * @param removed the number of removed words
+	 */
+	private static void removeFromPath(Node[] path, int depth, int removed) {
+		for(int d = depth; d >= 0; d--) {
+			Node node = path[d];
+			node.updateWordCount(-removed);
+			
+			if(d > 0 && node.getWordCount() == 0) {
+				path[d - 1].removeChild(node.getLetter());
+			}
+			else {
+				node.recomputeWordLengths();
+			}
+		}
+	}
+	
+	/**
+	 * check if the fragment can be followed from the node, or from a node under it
+	 * @param actualNode the actual node
+	 * @param fragment the fragment
+	 * @return true if the fragment is found
+	 */
+	private static boolean containsSubstringRecursive(Node actualNode, CharSequence fragment) {
+		//the words under the node are too short to hold the fragment after the node, or under it
+		if(actualNode.getMaxWordLength() < fragment.length()) return false;
+		
+		Node fragmentNode = actualNode;
+		for(int i = 0; i < fragment.length() && fragmentNode != null; i++) {
+			fragmentNode = fragmentNode.getChild(fragment.charAt(i));
+		}
+		if(fragmentNode != null) return true;
+		
+		for(int i = 0; i < actualNode.getChildCount(); i++) {
+			if(containsSubstringRecursive(actualNode.getChildAt(i), fragment)) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * write a sequence backwards
+	 * @param sequence the sequence
+	 * @return the letters of the sequence from the last one to the first one
+	 */
+	private static String reverse(CharSequence sequence) {
+		return new StringBuilder(sequence).reverse().toString();
+	}
+	
+	/**
+	 * check if a character can be part of a word
+	 * @param c the character
+	 * @return true if the character is a letter, a '-' or a '\''
+	 */
+	static boolean isAllowedCharacter(char c) {
+		return Character.isLetter(c) || c == '-' || c == '\'';
+	}
+	
+	/**
+	 * check if a sequence only contains white spaces, like String.isBlank()
+	 * @param sequence the sequence to check
+	 * @return true if the sequence is empty or only contains white spaces
+	 */
+	static boolean isBlank(CharSequence sequence) {
+		for(int i = 0; i < sequence.length(); i++) {
+			if(!Character.isWhitespace(sequence.charAt(i))) return false;
+		}
+		return true;
+	}
+	
+	/*private boolean containWordRecursive(Node n, String word) {
+		Node child = new Node(word.charAt(0), false);
+		if(word.length() == 1) {
+			return n.containLetterInChildren(child) && n.getChildFromNode(child).isWord(); 
+		}
+		else {
+			if(n.containLetterInChildren(child)) {
+				return containWordRecursive(n.getChildFromNode(child), word.substring(1));
+			}
+			return false;
+		}
+	}*/
+	
+	/**
+	 * iterate through each node and each node's children and give every word to the visitor
+	 * @param actualNode the actual node
+	 * @param word the letters from the root to the actual node, the buffer is the same for all the calls
+	 * @param visitor the visitor that receives the words
 	 */
-	public int size() {
-		int sizeTotal = root.isWord() ? 1 : 0;
-		
-		sizeTotal += recursiveSize(root);
-		return sizeTotal;
+	private static void forEachWordRecursive(Node actualNode, StringBuilder word, Consumer<CharSequence> visitor) {
+		if(actualNode.isWord()) visitor.accept(word);
+			
+		for(int i = 0; i < actualNode.getChildCount(); i++) {
+			Node child = actualNode.getChildAt(i);
+			
+			word.append(child.getLetter());
+			forEachWordRecursive(child, word, visitor);
+			word.setLength(word.length() - 1);
+		}
 	}
-
+	
 	/**
-	 * Inserts a word in the lexicographic tree if not already present.
-	 * @param word A word
+	 * count the letters then walk the tree with them
+	 * @param letters the letters, with a '?' for each blank
+	 * @param exact true if the words must use all the letters
+	 * @return the list of words
 	 */
-	public void insertWord(String word) {
-		Node actualNode = root;
+	private List<String> findWordsFromLetters(String letters, boolean exact) {
+		if(letters == null) throw new IllegalArgumentException("L'argument letters ne doit pas etre null");
 		
-		StringBuilder wordRefactor = new StringBuilder();
+		//the distinct letters are sorted, so they can be searched and followed in alphabetic order
+		char[] sorted = letters.toCharArray();
+		Arrays.sort(sorted);
+		char[] distinct = new char[sorted.length];
+		int[] counts = new int[sorted.length];
+		int distinctCount = 0;
+		int blanks = 0;
 		
-		
-		//checks each character to remove the bad ones
-		for(char c : word.toCharArray()) {
-			if (Character.isLetter(c) || c == '-' || c == '\'') {
-				wordRefactor.append(c);
+		for(char c : sorted) {
+			if(c == '?') {
+				blanks++;
+			}
+			else {
+				if(distinctCount == 0 || distinct[distinctCount - 1] != c) distinct[distinctCount++] = c;
+				counts[distinctCount - 1]++;
 			}
 		}
 		
-		//if the word is empty, I set the property isWord of the root to true
-		if(word.isEmpty()) {
-			root.setIsWord();
+		List<String> words = new ArrayList<String>();
+		if(root.isWord() && (!exact || letters.isEmpty())) words.add("");
+		
+		findWordsFromLettersRecursive(root, distinct, distinctCount, counts, blanks, letters.length(), exact, new StringBuilder(), words);
+		return words;
+	}
+	
+	/**
+	 * follow the children whose letter is still available, or replaced by a blank
+	 * @param actualNode the actual node
+	 * @param distinct the distinct letters, sorted
+	 * @param distinctCount the number of distinct letters
+	 * @param counts the number of each distinct letter that is still available
+	 * @param blanks the number of blanks still available
+	 * @param remaining the number of letters and blanks still available
+	 * @param exact true if the words must use all the letters
+	 * @param word the letters from the root to the actual node
+	 * @param words the list of words
+	 */
+	private static void findWordsFromLettersRecursive(Node actualNode, char[] distinct, int distinctCount, int[] counts, int blanks, int remaining, boolean exact, StringBuilder word, List<String> words) {
+		if(remaining == 0) return;
+		
+		if(blanks == 0) {
+			//without blank, only the available letters are searched in the children
+			for(int i = 0; i < distinctCount; i++) {
+				if(counts[i] == 0) continue;
+				
+				Node child = actualNode.getChild(distinct[i]);
+				if(child == null || !mayUseLetters(child, remaining - 1, exact)) continue;
+				
+				counts[i]--;
+				followLetter(child, distinct, distinctCount, counts, blanks, remaining - 1, exact, word, words);
+				counts[i]++;
+			}
 			return;
 		}
 		
-		for(int i = 0; i < wordRefactor.length(); i++) {
+		for(int j = 0; j < actualNode.getChildCount(); j++) {
+			Node child = actualNode.getChildAt(j);
+			if(!mayUseLetters(child, remaining - 1, exact)) continue;
 			
-			if(!actualNode.containLetterInChildren(new Node(wordRefactor.charAt(i), false))) {
-				actualNode.addChild(new Node(wordRefactor.charAt(i), false));
+			//a letter is better than a blank, because the blank is kept for another letter
+			int i = Arrays.binarySearch(distinct, 0, distinctCount, child.getLetter());
+			if(i >= 0 && counts[i] > 0) {
+				counts[i]--;
+				followLetter(child, distinct, distinctCount, counts, blanks, remaining - 1, exact, word, words);
+				counts[i]++;
+			}
+			else {
+				followLetter(child, distinct, distinctCount, counts, blanks - 1, remaining - 1, exact, word, words);
 			}
-			
-			actualNode = actualNode.getChildFromNode(new Node(wordRefactor.charAt(i), false));
 		}
-		
-		//once we have searched the whole word, I set the property isWord of the node that contains the last character to true
-		actualNode.setIsWord();
 	}
 	
 	/**
-	 * Determines if a word is present in the lexicographic tree.
-	 * @param word A word
-	 * @return True if the word is present, false otherwise
+	 * add the letter of the child to the word, keep the word if it is complete, and continue under the child
+	 * @param child the child, its letter is already taken from the counts or the blanks
+	 * @param distinct the distinct letters, sorted
+	 * @param distinctCount the number of distinct letters
+	 * @param counts the number of each distinct letter that is still available
+	 * @param blanks the number of blanks still available
+	 * @param remaining the number of letters and blanks still available
+	 * @param exact true if the words must use all the letters
+	 * @param word the letters from the root to the parent of the child
+	 * @param words the list of words
 	 */
-	public boolean containsWord(String word) {
-		if(word == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
-		
-		//if the word is blank,I check if the property isWord of the root is true or false
-		if(word.isBlank()) {
-			return root.isWord();
-		}
+	private static void followLetter(Node child, char[] distinct, int distinctCount, int[] counts, int blanks, int remaining, boolean exact, StringBuilder word, List<String> words) {
+		word.append(child.getLetter());
+		if(child.isWord() && (!exact || remaining == 0)) words.add(word.toString());
 		
-        Node actualNode = root;
-        
-        for (int i = 0; i < word.length(); i++) {
-        	
-        	if(actualNode == null) return false;
-        	
-            actualNode = actualNode.getChildFromNode(new Node(word.charAt(i), false)); 
-            
-        }
-        
-        return actualNode != null && actualNode.isWord();
+		findWordsFromLettersRecursive(child, distinct, distinctCount, counts, blanks, remaining, exact, word, words);
+		word.setLength(word.length() - 1);
 	}
 	
 	/**
-	 * Determines if a word is present in the lexicographic tree.
-	 * @param word A word
-	 * @return True if the word is present, false otherwise
+	 * check if a word under the node can be written with the remaining letters
+	 * @param node the node
+	 * @param remaining the number of letters and blanks still available after the letter of the node
+	 * @param exact true if the words must use all the letters
+	 * @return false if all the words under the node are too long (or too short when exact)
 	 */
-	public boolean containsPrefix(String prefix) {
-		
-        Node actualNode = root;
-        
-        for (int i = 0; i < prefix.length(); i++) {
-        	
-        	if(actualNode == null) return false;
-        	
-            actualNode = actualNode.getChildFromNode(new Node(prefix.charAt(i), false));
-        }
-        
-        return actualNode != null;
+	private static boolean mayUseLetters(Node node, int remaining, boolean exact) {
+		return exact ? node.mayHaveWordLength(remaining) : node.getMinWordLength() <= remaining;
 	}
 	
 	/**
-	 * Returns an alphabetic list of all words starting with the supplied prefix.
-	 * If 'prefix' is an empty string, all words are returned.
-	 * @param prefix Expected prefix
-	 * @return The list of words starting with the supplied prefix
+	 * compute the row of the distance table of each child of the node and keep going while the row is close enough
+	 * @param actualNode the actual node
+	 * @param word the searched word
+	 * @param maxDistance the maximum number of edits
+	 * @param rows the rows of the distance table, rows[depth] is the row of the actual node
+	 * @param depth the depth of the actual node
+	 * @param prefix the letters from the root to the actual node
+	 * @param words the list of words within the distance
 	 */
-	public List<String> getWords(String prefix) {
-		if(prefix == null) throw new IllegalArgumentException("L'argument word ne doit pas etre null");
+	private static void findWithinDistanceRecursive(Node actualNode, String word, int maxDistance, int[][] rows, int depth, StringBuilder prefix, List<String> words) {
+		int length = word.length();
+		int[] previous = rows[depth];
+		int[] row = rows[depth + 1];
 		
-		if(prefix.isBlank()) {
-			return getAllWordRecursive(root, new ArrayList<String>(), "");
+		for(int i = 0; i < actualNode.getChildCount(); i++) {
+			Node child = actualNode.getChildAt(i);
+			
+			//the difference of length is a lower bound of the distance
+			if(length - (depth + 1 + child.getMaxWordLength()) > maxDistance) continue;
+			if(depth + 1 + child.getMinWordLength() - length > maxDistance) continue;
+			
+			char letter = child.getLetter();
+			row[0] = depth + 1;
+			int minimum = row[0];
+			for(int j = 1; j <= length; j++) {
+				int substitution = previous[j - 1] + (word.charAt(j - 1) == letter ? 0 : 1);
+				row[j] = Math.min(substitution, Math.min(previous[j], row[j - 1]) + 1);
+				minimum = Math.min(minimum, row[j]);
+			}
+			
+			if(minimum > maxDistance) continue;
+			
+			prefix.append(letter);
+			if(child.isWord() && row[length] <= maxDistance) words.add(prefix.toString());
+			findWithinDistanceRecursive(child, word, maxDistance, rows, depth + 1, prefix, words);
+			prefix.setLength(prefix.length() - 1);
 		}
-		else {
-			prefix.trim();
-			return getWordRecursive(root, new ArrayList<String>(), prefix ,prefix);
+	}
+	
+	/**
+	 * iterate through each node and each node's children until the depth equals the parameter length
+	 * @param actualNode the actual node
+	 * @param words the list of word
+	 * @param word the letters from the root to the actual node, the buffer is the same for all the calls
+	 * @param length the length of word that we want
+	 */
+	private static void getWordsOfLengthRecursive(Node actualNode, List<String> words, StringBuilder word, int length) {
+		//stop the recursivity when we are at the depth that we want
+		if(length == 0) {
+			if(actualNode.isWord()) words.add(word.toString());
+			return;
+		}
+		
+		//loop until we reach the correct depth, skipping the children without any word of the missing length
+		for(int i = 0; i < actualNode.getChildCount(); i++) {
+			Node child = actualNode.getChildAt(i);
+			if(!child.mayHaveWordLength(length - 1)) continue;
+			
+			word.append(child.getLetter());
+			getWordsOfLengthRecursive(child, words, word, length - 1);
+			word.setLength(word.length() - 1);
 		}
 	}
-
+	
 	/**
-	 * Returns an alphabetic list of all words of a given length.
-	 * If 'length' is lower than or equal to zero, an empty list is returned.
-	 * @param length Expected word length
-	 * @return The list of words with the given length
+	 * read the next words of the iterator
+	 * @param iterator the iterator
+	 * @param limit the maximum number of words
+	 * @return the list of at most limit words
 	 */
-	public List<String> getWordsOfLength(int length) {
-		List<String> words = new ArrayList<String>();
-		if(length <= 0) return words;
-		return getWordsOfLengthRecursive(root, words, "", length);
+	private static List<String> nextWords(Iterator<String> iterator, int limit) {
+		if(limit < 0) throw new IllegalArgumentException("L'argument limit doit etre positif");
+		
+		List<String> words = new ArrayList<String>(Math.min(limit, 64));
+		while(words.size() < limit && iterator.hasNext()) {
+			words.add(iterator.next());
+		}
+		return words;
 	}
-
+	
 	/*
-	 * PRIVATE METHODS
+	 * FILE PARSING
 	 */
 	
 	/**
-	 * iterate through each node and each node's children and every time that a node is a word we increase the counter
-	 * @param actualNode the actual Node
-	 * @return the number of words
+	 * inserts the lines of a mapped file in the tree,
+	 * the ASCII lines are inserted from their bytes, the other ones are decoded as UTF-8 and inserted with insertWord()
 	 */
-	private int recursiveSize(Node actualNode) {
-		int sizeTotal = 0;
+	private class LineInserter {
 		
-		//stop the method when the actualNode dont have any child
-		if(actualNode.isLeaf()) {
-			return sizeTotal;
+		private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+		// path[d] is the node of the first d letters of the current line
+		private Node[] path = new Node[32];
+		
+		/**
+		 * constructor
+		 */
+		private LineInserter() {
+			path[0] = root;
 		}
-		else {
-			//loop through all the children
-			for(Node child : actualNode.getChildren()) {
-				if(child.isWord()) {
-					sizeTotal++;					
-				}
-				
-				sizeTotal += recursiveSize(child);
+		
+		/**
+		 * insert the line that begins at start
+		 * @param bytes the bytes of the file
+		 * @param start the position of the first byte of the line
+		 * @param end the position where the line ends at the latest
+		 * @return the position of the '\n' or '\r' that ends the line, end if there is none before
+		 */
+		private int insertLine(ByteBuffer bytes, int start, int end) {
+			int length = 0;
+			boolean ascii = true;
+			int position = start;
+			
+			for(; position < end; position++) {
+				byte b = bytes.get(position);
+				if(b == '\n' || b == '\r') break;
 				
+				if(b < 0) {
+					ascii = false;
+				}
+				else if(ascii && isAllowedCharacter((char) b)) {
+					if(length + 1 == path.length) path = Arrays.copyOf(path, path.length * 2);
+					path[length + 1] = path[length].getOrAddChild((char) b);
+					length++;
+				}
+			}
+			
+			if(ascii) {
+				if(!path[length].isWord()) addWordOnPath(path, length);
+			}
+			else {
+				//the nodes already created are the beginning of the same word, so insertWord() goes through them
+				try {
+					insertWord(decoder.decode(bytes.slice(start, position - start)).toString());
+				}
+				catch (CharacterCodingException e) {
+					throw new UncheckedIOException(e);
+				}
 			}
+			return position;
 		}
-		return sizeTotal;
 	}
 	
-	/*private boolean containWordRecursive(Node n, String word) {
-		Node child = new Node(word.charAt(0), false);
-		if(word.length() == 1) {
-			return n.containLetterInChildren(child) && n.getChildFromNode(child).isWord(); 
-		}
-		else {
-			if(n.containLetterInChildren(child)) {
-				return containWordRecursive(n.getChildFromNode(child), word.substring(1));
-			}
-			return false;
-		}
-	}*/
+	/*
+	 * ITERATOR
+	 */
 	
 	/**
-	 * iterate through each node and each node's children and concat every node letter to make word 
-	 * @param actualNode the actual node
-	 * @param words the words' list
-	 * @param word the actual concat of letter
-	 * @return a list of word
+	 * iterator that goes through the tree with an explicit stack instead of the recursivity,
+	 * so it can stop after each word and continue later
 	 */
-	private List<String> getAllWordRecursive(Node actualNode, List<String> words, String word) {
-		//if the node is a leaf, he dont have more child, so we return the words' list and stop the recursivity
-		if(actualNode.isLeaf()) {
-			words.add(word);
-			return words;
+	private static class WordIterator implements Iterator<String> {
+		
+		// nodes from the node of the prefix to the current node
+		private Node[] path = new Node[32];
+		// position of the next child to visit for each node of path
+		private int[] nextChild = new int[32];
+		// letters of the prefix followed by the letters of path
+		private char[] word;
+		private final int prefixLength;
+		// depth of the current node in path, -1 when all the words were returned
+		private int depth;
+		private String next;
+		
+		/**
+		 * constructor
+		 * @param start the node of the prefix, null if the prefix is not in the tree
+		 * @param prefix the prefix
+		 */
+		private WordIterator(Node start, String prefix) {
+			prefixLength = prefix.length();
+			word = Arrays.copyOf(prefix.toCharArray(), prefixLength + 32);
+			
+			if(start == null) {
+				depth = -1;
+				return;
+			}
+			path[0] = start;
+			if(start.isWord()) next = prefix;
 		}
-		else {
-			if(actualNode.isWord() && !actualNode.isLeaf()) words.add(word.toString());
+		
+		@Override
+		public boolean hasNext() {
+			if(next == null) next = findNext();
+			
+			return next != null;
+		}
+		
+		@Override
+		public String next() {
+			if(!hasNext()) throw new NoSuchElementException();
+			
+			String result = next;
+			next = null;
+			return result;
+		}
+		
+		/**
+		 * skip the next words without building them,
+		 * the children that only contain skipped words are not visited thanks to their word counter
+		 * @param count the number of words to skip
+		 */
+		private void skip(int count) {
+			if(count > 0 && next != null) {
+				next = null;
+				count--;
+			}
 			
-			for(Node child : actualNode.getChildren()) {
-				words.addAll(getAllWordRecursive(child, new ArrayList<String>(), word + child.getLetter()));
+			while(count > 0 && depth >= 0) {
+				Node actualNode = path[depth];
+				
+				if(nextChild[depth] < actualNode.getChildCount()) {
+					Node child = actualNode.getChildAt(nextChild[depth]);
+					
+					if(child.getWordCount() <= count) {
+						//all the words of the child are skipped
+						count -= child.getWordCount();
+						nextChild[depth]++;
+					}
+					else {
+						nextChild[depth]++;
+						push(child);
+						if(child.isWord()) count--;
+					}
+				}
+				else {
+					path[depth--] = null;
+				}
+			}
+		}
+		
+		/**
+		 * continue the depth first search until the next node that is a word
+		 * @return the next word, null if there is no more word
+		 */
+		private String findNext() {
+			while(depth >= 0) {
+				Node actualNode = path[depth];
+				
+				if(nextChild[depth] < actualNode.getChildCount()) {
+					Node child = actualNode.getChildAt(nextChild[depth]++);
+					push(child);
+					
+					if(child.isWord()) return new String(word, 0, prefixLength + depth);
+				}
+				else {
+					//all the children were visited, go back to the parent
+					path[depth--] = null;
+				}
+			}
+			return null;
+		}
+		
+		/**
+		 * add a child at the end of path
+		 * @param child the child
+		 */
+		private void push(Node child) {
+			if(depth + 1 == path.length) {
+				path = Arrays.copyOf(path, path.length * 2);
+				nextChild = Arrays.copyOf(nextChild, nextChild.length * 2);
 			}
-			return words;
+			if(prefixLength + depth + 1 > word.length) word = Arrays.copyOf(word, word.length * 2);
+			
+			word[prefixLength + depth] = child.getLetter();
+			depth++;
+			path[depth] = child;
+			nextChild[depth] = 0;
 		}
 	}
+	
 	/**
-	 * iterate through each node (starting to the one that letter is the last of the prefix) and each node's children
-	 * to get all words with the prefix 
-	 * @param actualNode the actualNode 
-	 * @param words the list of words
-	 * @param wordPrefix the prefix
-	 * @param prefix the prefix that we gonna substring until blank
-	 * @return a list of word
+	 * iterator that goes through the tree like WordIterator,
+	 * but each node of the path also keeps the states of the pattern reached by its letters
 	 */
-	private List<String> getWordRecursive(Node actualNode, List<String> words ,String wordPrefix, String prefix) {
-		//if the prefix is blank, call another method to get all the words of the tree that start with wordPrefix
-		if(prefix.isBlank()) {
-			words.addAll(getAllWordRecursive(actualNode, new ArrayList<String>(), wordPrefix));
-			return words;
+	private static class PatternIterator implements Iterator<String> {
+		
+		private final WordPattern pattern;
+		private Node[] path = new Node[32];
+		private long[] states = new long[32];
+		// position of the next child to visit for each node of path
+		private int[] nextChild = new int[32];
+		// the only letter that can follow each node of path, -1 if all the children must be tried
+		private int[] onlyLetter = new int[32];
+		private char[] word = new char[32];
+		// depth of the current node in path, -1 when all the words were returned
+		private int depth;
+		private String next;
+		
+		/**
+		 * constructor
+		 * @param root the root of the tree
+		 * @param pattern the pattern
+		 */
+		private PatternIterator(Node root, WordPattern pattern) {
+			this.pattern = pattern;
+			
+			path[0] = root;
+			states[0] = pattern.start();
+			onlyLetter[0] = pattern.onlyLetter(states[0]);
+			if(root.isWord() && pattern.isAccepting(states[0])) next = "";
 		}
-		//check if some words with that prefix exist, when prefix equals "", we start to search word with it
-		else {
+		
+		@Override
+		public boolean hasNext() {
+			if(next == null) next = findNext();
 			
-			Node child = actualNode.getChildFromNode(new Node(prefix.charAt(0), false));
+			return next != null;
+		}
+		
+		@Override
+		public String next() {
+			if(!hasNext()) throw new NoSuchElementException();
 			
-			//if the actualNode dont have a child with this letter, child gonna be null 
-			if(child == null) return words;
+			String result = next;
+			next = null;
+			return result;
+		}
+		
+		/**
+		 * continue the depth first search until the next word that matches
+		 * @return the next word, null if there is no more word
+		 */
+		private String findNext() {
+			while(depth >= 0) {
+				Node actualNode = path[depth];
+				Node child = null;
+				
+				if(onlyLetter[depth] >= 0) {
+					//only one letter can follow, search it instead of trying each child
+					if(nextChild[depth]++ == 0) child = actualNode.getChild((char) onlyLetter[depth]);
+				}
+				else if(nextChild[depth] < actualNode.getChildCount()) {
+					child = actualNode.getChildAt(nextChild[depth]++);
+				}
+				
+				if(child == null) {
+					//all the children were visited, go back to the parent
+					path[depth--] = null;
+					continue;
+				}
+				
+				long childStates = pattern.step(states[depth], child.getLetter());
+				if(childStates == 0 || !pattern.mayMatchLength(childStates, child.getMinWordLength(), child.getMaxWordLength())) continue;
+				
+				push(child, childStates);
+				if(child.isWord() && pattern.isAccepting(childStates)) return new String(word, 0, depth);
+			}
+			return null;
+		}
+		
+		/**
+		 * add a child at the end of path
+		 * @param child the child
+		 * @param childStates the states of the pattern after the letter of the child
+		 */
+		private void push(Node child, long childStates) {
+			if(depth + 1 == path.length) {
+				path = Arrays.copyOf(path, path.length * 2);
+				states = Arrays.copyOf(states, states.length * 2);
+				nextChild = Arrays.copyOf(nextChild, nextChild.length * 2);
+				onlyLetter = Arrays.copyOf(onlyLetter, onlyLetter.length * 2);
+				word = Arrays.copyOf(word, word.length * 2);
+			}
 			
-			prefix = prefix.length() == 1 ? "" : prefix.substring(1);
-			return getWordRecursive(child, words, wordPrefix, prefix);
+			word[depth] = child.getLetter();
+			depth++;
+			path[depth] = child;
+			states[depth] = childStates;
+			nextChild[depth] = 0;
+			onlyLetter[depth] = pattern.onlyLetter(childStates);
 		}
 	}
 	
+	/*
+	 * CURSOR
+	 */
+	
 	/**
-	 * iterate through each node and each node's children until the depth equals the parameter length
-	 * @param actualNode the actual node
-	 * @param words the list of word
-	 * @param word the actual word that is the concat of the actualNode and his parents
-	 * @param length the length of word that we want
-	 * @param isWord boolean that tell if "word" is a word
-	 * @return a list a word of the length 'length'
+	 * cursor that keeps the nodes of the current prefix in a stack, so going back up costs nothing
 	 */
-	private List<String> getWordsOfLengthRecursive(Node actualNode, List<String> words, String word, int length) {
-		//stop the recursivity when we are at the depth that we want
-		if(length == 0) {
-			if(actualNode.isWord())words.add(word);
-			return words;
+	private static class NodeCursor implements TrieCursor {
+		
+		private Node[] path = new Node[32];
+		private int depth;
+		
+		/**
+		 * constructor
+		 * @param root the node of the empty prefix
+		 */
+		private NodeCursor(Node root) {
+			path[0] = root;
 		}
-		else {
-			//loop until we reach the correct depth
-			for(Node child : actualNode.getChildren()) {
-				words = (getWordsOfLengthRecursive(child, words, word + child.getLetter(), length-1));
-			}
+		
+		@Override
+		public boolean advance(char letter) {
+			Node child = path[depth].getChild(letter);
+			if(child == null) return false;
+			
+			if(depth + 1 == path.length) path = Arrays.copyOf(path, path.length * 2);
+			path[++depth] = child;
+			return true;
+		}
+		
+		@Override
+		public void backtrack() {
+			if(depth == 0) throw new IllegalStateException("Le curseur est deja sur le prefixe vide");
+			
+			path[depth--] = null;
+		}
+		
+		@Override
+		public boolean isWord() {
+			return path[depth].isWord();
+		}
+		
+		@Override
+		public boolean hasChildren() {
+			return !path[depth].isLeaf();
+		}
+		
+		@Override
+		public int depth() {
+			return depth;
+		}
+		
+		@Override
+		public void reset() {
+			while(depth > 0) path[depth--] = null;
 		}
-		return words;
 	}
 	
 	/*
@@ -328,6 +1522,15 @@ public class LexicographicTree {
 		System.out.println("Number of words : " + dico.size());
 		System.out.println();
 		
+		startTime = System.currentTimeMillis();
+		System.out.println("Loading dictionary in parallel (" + ForkJoinPool.commonPool().getParallelism() + " workers)...");
+		for (int i = 0; i < repeatCount; i++) {
+			dico = loadInParallel(filename);
+		}
+		System.out.println("Load time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println("Number of words : " + dico.size());
+		System.out.println();
+		
 		// Search existing words in dictionary
 		startTime = System.currentTimeMillis();
 		System.out.println("Searching existing words in dictionary...");
@@ -388,6 +1591,158 @@ public class LexicographicTree {
 		}
 		System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0);
 		System.out.println();
+		
+		// Compile the tree into a minimized word graph
+		startTime = System.currentTimeMillis();
+		System.out.println("Compiling dictionary into a DAWG...");
+		Dawg dawg = null;
+		for (int i = 0; i < repeatCount; i++) {
+			dawg = dico.freeze();
+		}
+		System.out.println("Compile time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println("States : " + dawg.stateCount() + " / edges : " + dawg.edgeCount());
+		System.out.println("Arrays size (KB) : " + dawg.memoryFootprint() / 1024);
+		System.out.println("Heap used by the tree (KB) : " + measureHeap(() -> new LexicographicTree(filename)) / 1024);
+		System.out.println("Heap used by the DAWG (KB) : " + measureHeap(() -> new LexicographicTree(filename).freeze()) / 1024);
+		System.out.println("Heap used by the tree and its reverse index (KB) : " + measureHeap(() -> {
+			LexicographicTree indexed = new LexicographicTree(filename);
+			indexed.enableReverseIndex();
+			return indexed;
+		}) / 1024);
+		System.out.println();
+		
+		// Write the DAWG in an image and map it back
+		System.out.println("Opening the mapped DAWG image...");
+		Dawg mappedDawg = null;
+		try {
+			File image = File.createTempFile("dictionary", ".dawg");
+			image.deleteOnExit();
+			dawg.write(image.getPath());
+			startTime = System.currentTimeMillis();
+			for (int i = 0; i < repeatCount; i++) {
+				mappedDawg = Dawg.open(image.getPath());
+			}
+			System.out.println("Open time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+			System.out.println("Image size (KB) : " + image.length() / 1024);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		System.out.println();
+		
+		// Build the double-array trie
+		startTime = System.currentTimeMillis();
+		System.out.println("Building double-array trie...");
+		DoubleArrayTrie doubleArray = null;
+		for (int i = 0; i < repeatCount; i++) {
+			doubleArray = new DoubleArrayTrie(dico);
+		}
+		System.out.println("Build time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println("Cells : " + doubleArray.capacity() + " / arrays size (KB) : " + doubleArray.memoryFootprint() / 1024);
+		System.out.println();
+		
+		// Compare the lookups of each implementation on the same words, without the file reading
+		List<String> words = new ArrayList<String>();
+		try {
+			words = Files.readAllLines(Paths.get(filename));
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		testSearchPerformance("tree", dico, words, repeatCount);
+		testSearchPerformance("DAWG", dawg, words, repeatCount);
+		if (mappedDawg != null) testSearchPerformance("mapped DAWG", mappedDawg, words, repeatCount);
+		testSearchPerformance("double-array trie", doubleArray, words, repeatCount);
+		
+		testAnagramPerformance(dico, "esarintul??", repeatCount);
+	}
+	
+	/**
+	 * Searches the words that can be written with some letters, with the tree and by filtering all the words,
+	 * and prints the durations.
+	 * @param dico The tree
+	 * @param letters The letters, with a '?' for each blank
+	 * @param repeatCount The number of times the words are searched
+	 */
+	private static void testAnagramPerformance(LexicographicTree dico, String letters, int repeatCount) {
+		long startTime = System.currentTimeMillis();
+		System.out.println("Searching words written with " + letters + " in the tree...");
+		int count = 0;
+		for (int i = 0; i < repeatCount; i++) {
+			count = dico.findWordsFromLetters(letters).size();
+		}
+		System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0 + " (" + count + " words)");
+		
+		startTime = System.currentTimeMillis();
+		System.out.println("Searching words written with " + letters + " by filtering all the words...");
+		for (int i = 0; i < repeatCount; i++) {
+			count = 0;
+			for (String word : dico.getWords("")) {
+				StringBuilder available = new StringBuilder(letters);
+				boolean written = word.length() <= letters.length();
+				for (int j = 0; j < word.length() && written; j++) {
+					int index = available.indexOf(String.valueOf(word.charAt(j)));
+					if (index < 0) index = available.indexOf("?");
+					if (index < 0) written = false;
+					else available.deleteCharAt(index);
+				}
+				if (written) count++;
+			}
+		}
+		System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0 + " (" + count + " words)");
+		System.out.println();
+	}
+	
+	/**
+	 * Searches existing and non-existing words in a dictionary and prints the durations.
+	 * @param name The name of the implementation
+	 * @param dico The dictionary
+	 * @param words The words of the dictionary
+	 * @param repeatCount The number of times the words are searched
+	 */
+	private static void testSearchPerformance(String name, WordDictionary dico, List<String> words, int repeatCount) {
+		List<String> unknownWords = new ArrayList<String>();
+		for (String word : words) {
+			unknownWords.add(word + "xx");
+		}
+		
+		long startTime = System.currentTimeMillis();
+		System.out.println("Searching existing words in " + name + "...");
+		for (int i = 0; i < repeatCount; i++) {
+			for (String word : words) {
+				if (!dico.containsWord(word)) {
+					System.out.println(word + " / " + word.length() + " -> not found");
+				}
+			}
+		}
+		System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		
+		startTime = System.currentTimeMillis();
+		System.out.println("Searching non-existing words in " + name + "...");
+		for (int i = 0; i < repeatCount; i++) {
+			for (String word : unknownWords) {
+				if (dico.containsWord(word)) {
+					System.out.println(word + " / " + word.length() + " -> found");
+				}
+			}
+		}
+		System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+		System.out.println();
+	}
+	
+	/**
+	 * Measures the heap retained by the object returned by the supplier.
+	 * @param supplier Creates the object to measure
+	 * @return An approximation of the retained size in bytes
+	 */
+	private static long measureHeap(Supplier<Object> supplier) {
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		long before = runtime.totalMemory() - runtime.freeMemory();
+		Object object = supplier.get();
+		System.gc();
+		long after = runtime.totalMemory() - runtime.freeMemory();
+		// keep the object alive until the second measure
+		if (object == null) System.out.println();
+		return after - before;
 	}
 
 	private static void testDictionarySize() {
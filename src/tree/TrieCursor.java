@@ -0,0 +1,46 @@
+package tree;
+
+/**
+ * A position in a dictionary that moves one letter at a time.
+ * The cursor starts on the empty prefix, advance() goes down by one letter and backtrack() goes back up,
+ * so a depth-first search only pays for the letter it adds or removes instead of searching the whole prefix again.
+ */
+public interface TrieCursor {
+	
+	/**
+	 * Moves the cursor down by one letter.
+	 * If the current prefix followed by the letter is not a prefix of the dictionary, the cursor doesn't move.
+	 * @param letter The letter to append to the current prefix
+	 * @return True if the cursor moved, false otherwise
+	 */
+	boolean advance(char letter);
+	
+	/**
+	 * Moves the cursor back to the previous prefix (undo the last successful advance).
+	 * @throws IllegalStateException if the cursor is on the empty prefix
+	 */
+	void backtrack();
+	
+	/**
+	 * Determines if the current prefix is a word of the dictionary.
+	 * @return True if the current prefix is a word, false otherwise
+	 */
+	boolean isWord();
+	
+	/**
+	 * Determines if at least one longer word starts with the current prefix.
+	 * @return True if the cursor can still advance, false otherwise
+	 */
+	boolean hasChildren();
+	
+	/**
+	 * Returns the length of the current prefix.
+	 * @return The number of letters between the empty prefix and the cursor
+	 */
+	int depth();
+	
+	/**
+	 * Moves the cursor back to the empty prefix.
+	 */
+	void reset();
+}
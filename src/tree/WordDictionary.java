@@ -0,0 +1,52 @@
+package tree;
+
+import java.util.List;
+
+/**
+ * The read operations shared by every dictionary implementation,
+ * so the games can use a mutable LexicographicTree or a compiled read-only dictionary.
+ */
+public interface WordDictionary {
+	
+	/**
+	 * Returns the number of words present in the dictionary.
+	 * @return The number of words present in the dictionary
+	 */
+	int size();
+	
+	/**
+	 * Determines if a word is present in the dictionary.
+	 * @param word A word
+	 * @return True if the word is present, false otherwise
+	 */
+	boolean containsWord(CharSequence word);
+	
+	/**
+	 * Determines if a prefix is present in the dictionary.
+	 * @param prefix A prefix
+	 * @return True if at least one word starts with the prefix, false otherwise
+	 */
+	boolean containsPrefix(CharSequence prefix);
+	
+	/**
+	 * Returns an alphabetic list of all words starting with the supplied prefix.
+	 * If 'prefix' is an empty string, all words are returned.
+	 * @param prefix Expected prefix
+	 * @return The list of words starting with the supplied prefix
+	 */
+	List<String> getWords(String prefix);
+	
+	/**
+	 * Returns an alphabetic list of all words of a given length.
+	 * If 'length' is lower than or equal to zero, an empty list is returned.
+	 * @param length Expected word length
+	 * @return The list of words with the given length
+	 */
+	List<String> getWordsOfLength(int length);
+	
+	/**
+	 * Returns a cursor placed on the empty prefix of the dictionary.
+	 * @return A new cursor
+	 */
+	TrieCursor cursor();
+}
@@ -0,0 +1,275 @@
+package tree;
+
+import java.util.Arrays;
+
+/**
+ * A compiled word pattern, like "c?a*" or "[bc]?[^aeiou]e".
+ * '?' matches any one letter, '*' matches any sequence of letters (even an empty one),
+ * '[...]' matches one letter of the class ('a-e' is a range, a first '^' negates the class),
+ * and every other character matches itself.
+ * The pattern is compiled into a small automaton whose states are the positions in the pattern,
+ * a set of states is a bitmask so a tree can follow all the possible positions at once, letter by letter.
+ */
+public final class WordPattern {
+	
+	// a state is the number of elements already matched, a set of states is a long with one bit per state
+	private static final int MAX_ELEMENTS = 63;
+	
+	private static final byte LITERAL = 0;
+	private static final byte ANY = 1;
+	private static final byte CLASS = 2;
+	private static final byte STAR = 3;
+	
+	private final String pattern;
+	private final byte[] types;
+	// letter of the LITERAL elements
+	private final char[] literals;
+	// sorted ranges (first, last, first, last...) of the CLASS elements
+	private final char[][] ranges;
+	private final boolean[] negated;
+	// number of letters needed to go from a state to the end
+	private final int[] minRemaining;
+	// true if a STAR is between a state and the end, so there is no maximum
+	private final boolean[] unbounded;
+	
+	/**
+	 * constructor
+	 * @param pattern the pattern
+	 */
+	private WordPattern(String pattern) {
+		this.pattern = pattern;
+		
+		byte[] types = new byte[pattern.length()];
+		char[] literals = new char[pattern.length()];
+		char[][] ranges = new char[pattern.length()][];
+		boolean[] negated = new boolean[pattern.length()];
+		int count = 0;
+		
+		for(int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			
+			if(c == '*') {
+				//"**" is the same as "*"
+				if(count > 0 && types[count - 1] == STAR) continue;
+				types[count] = STAR;
+			}
+			else if(c == '?') {
+				types[count] = ANY;
+			}
+			else if(c == '[') {
+				int first = i + 1;
+				if(first < pattern.length() && pattern.charAt(first) == '^') {
+					negated[count] = true;
+					first++;
+				}
+				
+				//a ']' just after the '[' is a letter of the class, so a class is never empty
+				int end = pattern.indexOf(']', first + 1);
+				if(first >= pattern.length() || end < 0) throw new IllegalArgumentException("Le motif " + pattern + " contient un '[' sans ']'");
+				
+				types[count] = CLASS;
+				ranges[count] = parseClass(pattern, first, end);
+				i = end;
+			}
+			else {
+				types[count] = LITERAL;
+				literals[count] = c;
+			}
+			
+			count++;
+			if(count > MAX_ELEMENTS) throw new IllegalArgumentException("Le motif ne doit pas contenir plus de " + MAX_ELEMENTS + " elements");
+		}
+		
+		this.types = Arrays.copyOf(types, count);
+		this.literals = Arrays.copyOf(literals, count);
+		this.ranges = Arrays.copyOf(ranges, count);
+		this.negated = Arrays.copyOf(negated, count);
+		
+		this.minRemaining = new int[count + 1];
+		this.unbounded = new boolean[count + 1];
+		for(int state = count - 1; state >= 0; state--) {
+			minRemaining[state] = minRemaining[state + 1] + (this.types[state] == STAR ? 0 : 1);
+			unbounded[state] = unbounded[state + 1] || this.types[state] == STAR;
+		}
+	}
+	
+	/*
+	 * PUBLIC METHODS
+	 */
+	
+	/**
+	 * Compiles a pattern.
+	 * @param pattern The pattern, with '?', '*' and '[...]'
+	 * @return The compiled pattern
+	 * @throws IllegalArgumentException if the pattern is null, has a class without ']' or more than 63 elements
+	 */
+	public static WordPattern compile(String pattern) {
+		if(pattern == null) throw new IllegalArgumentException("L'argument pattern ne doit pas etre null");
+		
+		return new WordPattern(pattern);
+	}
+	
+	/**
+	 * Determines if a whole word matches the pattern.
+	 * @param word A word
+	 * @return True if the word matches, false otherwise
+	 */
+	public boolean matches(CharSequence word) {
+		long states = start();
+		
+		for(int i = 0; i < word.length() && states != 0; i++) {
+			states = step(states, word.charAt(i));
+		}
+		return isAccepting(states);
+	}
+	
+	@Override
+	public String toString() {
+		return pattern;
+	}
+	
+	/*
+	 * PACKAGE METHODS
+	 */
+	
+	/**
+	 * 
+	 * @return the states before the first letter
+	 */
+	long start() {
+		return closure(1L);
+	}
+	
+	/**
+	 * follow a letter from all the states at once
+	 * @param states the current states
+	 * @param letter the letter
+	 * @return the states after the letter, 0 if the pattern cannot match anymore
+	 */
+	long step(long states, char letter) {
+		long next = 0;
+		
+		for(long remaining = states; remaining != 0; remaining &= remaining - 1) {
+			int state = Long.numberOfTrailingZeros(remaining);
+			if(state == types.length) continue;
+			
+			switch(types[state]) {
+				case LITERAL:
+					if(literals[state] == letter) next |= 1L << (state + 1);
+					break;
+				case ANY:
+					next |= 1L << (state + 1);
+					break;
+				case CLASS:
+					if(inClass(state, letter)) next |= 1L << (state + 1);
+					break;
+				default:
+					//a star stays on itself
+					next |= 1L << state;
+			}
+		}
+		return closure(next);
+	}
+	
+	/**
+	 * 
+	 * @param states the current states
+	 * @return true if the letters already followed are a whole match
+	 */
+	boolean isAccepting(long states) {
+		return (states & (1L << types.length)) != 0;
+	}
+	
+	/**
+	 * get the only letter that can be followed from the states, so the child can be searched instead of trying all of them
+	 * @param states the current states
+	 * @return the letter, -1 if several letters or a wildcard can be followed
+	 */
+	int onlyLetter(long states) {
+		int letter = -1;
+		
+		for(long remaining = states; remaining != 0; remaining &= remaining - 1) {
+			int state = Long.numberOfTrailingZeros(remaining);
+			if(state == types.length) continue;
+			if(types[state] != LITERAL || (letter >= 0 && letter != literals[state])) return -1;
+			
+			letter = literals[state];
+		}
+		return letter;
+	}
+	
+	/**
+	 * check if the words that end between minLength and maxLength letters further can still match from the states
+	 * @param states the current states
+	 * @param minLength the minimum number of letters that remain
+	 * @param maxLength the maximum number of letters that remain
+	 * @return false if none of them can match, true if one may match
+	 */
+	boolean mayMatchLength(long states, int minLength, int maxLength) {
+		for(long remaining = states; remaining != 0; remaining &= remaining - 1) {
+			int state = Long.numberOfTrailingZeros(remaining);
+			
+			if(minRemaining[state] <= maxLength && (unbounded[state] || minRemaining[state] >= minLength)) return true;
+		}
+		return false;
+	}
+	
+	/*
+	 * PRIVATE METHODS
+	 */
+	
+	/**
+	 * add the states reached by skipping the stars, a star can match an empty sequence
+	 * @param states the states
+	 * @return the states and the states after their stars
+	 */
+	private long closure(long states) {
+		for(int state = 0; state < types.length; state++) {
+			if(types[state] == STAR && (states & (1L << state)) != 0) states |= 1L << (state + 1);
+		}
+		return states;
+	}
+	
+	/**
+	 * 
+	 * @param state a CLASS state
+	 * @param letter a letter
+	 * @return true if the class of the state accepts the letter
+	 */
+	private boolean inClass(int state, char letter) {
+		char[] classRanges = ranges[state];
+		boolean found = false;
+		
+		for(int i = 0; i < classRanges.length && !found; i += 2) {
+			found = letter >= classRanges[i] && letter <= classRanges[i + 1];
+		}
+		return found != negated[state];
+	}
+	
+	/**
+	 * read the content of a class, like "aeiou" or "a-z"
+	 * @param pattern the pattern
+	 * @param first the position of the first character of the class
+	 * @param end the position of the ']'
+	 * @return the ranges of the class (first, last, first, last...)
+	 */
+	private static char[] parseClass(String pattern, int first, int end) {
+		char[] classRanges = new char[(end - first) * 2];
+		int count = 0;
+		
+		for(int i = first; i < end; i++) {
+			char low = pattern.charAt(i);
+			char high = low;
+			
+			//a '-' at the beginning or the end of the class is a letter
+			if(i + 2 < end && pattern.charAt(i + 1) == '-') {
+				high = pattern.charAt(i + 2);
+				if(high < low) throw new IllegalArgumentException("Le motif " + pattern + " contient un intervalle inverse");
+				i += 2;
+			}
+			classRanges[count++] = low;
+			classRanges[count++] = high;
+		}
+		return Arrays.copyOf(classRanges, count);
+	}
+}
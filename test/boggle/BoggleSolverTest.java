@@ -0,0 +1,225 @@
+package boggle;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import models.FoundWord;
+import tree.LexicographicTree;
+import tree.TrieCursor;
+import tree.WordDictionary;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class BoggleSolverTest {
+	private static final Set<String> EXPECTED_WORDS = new TreeSet<>(Arrays.asList(new String[] {"ces", "cesse", "cessent", "cresson", "ego", "encre",
+			"encres", "engonce", "engoncer", "engonces", "esse", "gens", "gent", "gesse", "gnose", "gosse", "nes", "net", "nos", "once",
+			"onces", "ose", "osent", "pre", "pres", "presse", "pressent", "ressent", "sec", "secs", "sen", "sent", "set", "son",
+			"songe", "songent", "sons", "tenson", "tensons", "tes"}));
+	private static final String GRID_LETTERS = "rhreypcswnsntego";
+	private static LexicographicTree tree = null;
+	private static WordDictionary dictionary = null;
+	
+	@BeforeAll
+	private static void initTestDictionary() {
+		System.out.print("Loading dictionary...");
+		tree = new LexicographicTree("mots/dictionnaire_FR_sans_accents.txt");
+		dictionary = tree.freeze();
+		System.out.println(" done.");
+	}
+	
+	@Test
+	void wikipediaExample() {
+		BoggleSolver solver = new BoggleSolver(dictionary);
+		
+		assertEquals(EXPECTED_WORDS, solver.solve(4, GRID_LETTERS));
+		assertEquals(EXPECTED_WORDS, solver.solve(4, GRID_LETTERS.toCharArray()));
+		//the buffers of the previous grid must not change the result
+		assertEquals(EXPECTED_WORDS, solver.solve(4, new StringBuilder(GRID_LETTERS)));
+	}
+	
+	@Test
+	void sameResultsAsBoggle() {
+		BoggleSolver solver = new BoggleSolver(tree);
+		
+		for (int size = 1; size <= 6; size++) {
+			Boggle boggle = new Boggle(size, tree);
+			assertEquals(boggle.solve(), solver.solve(size, boggle.letters()), boggle.toString());
+		}
+	}
+	
+	@Test
+	void solveAllKeepsOrder() {
+		BoggleSolver solver = new BoggleSolver(dictionary);
+		List<String> grids = new ArrayList<String>();
+		for (int i = 0; i < 200; i++) {
+			grids.add(new Boggle(5, tree).letters());
+		}
+		
+		List<Set<String>> results = solver.solveAll(5, grids);
+		char[][] arrays = new char[grids.size()][];
+		for (int i = 0; i < grids.size(); i++) {
+			arrays[i] = grids.get(i).toCharArray();
+		}
+		List<Set<String>> arrayResults = solver.solveAll(5, arrays);
+		
+		assertEquals(grids.size(), results.size());
+		for (int i = 0; i < grids.size(); i++) {
+			assertEquals(new Boggle(5, grids.get(i), tree).solve(), results.get(i));
+			assertEquals(results.get(i), arrayResults.get(i));
+		}
+	}
+	
+	@Test
+	void solveWithScoresSameAsBoggle() {
+		BoggleSolver solver = new BoggleSolver(dictionary);
+		
+		for (int size = 3; size <= 6; size++) {
+			Boggle boggle = new Boggle(size, tree);
+			List<FoundWord> expected = boggle.solveWithScores(10);
+			List<FoundWord> found = solver.solveWithScores(size, boggle.letters(), 10);
+			List<FoundWord> foundFromArray = solver.solveWithScores(size, boggle.letters().toCharArray(), 10);
+			
+			assertEquals(expected.size(), found.size(), boggle.toString());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i).getWord(), found.get(i).getWord());
+				assertEquals(expected.get(i).getScore(), found.get(i).getScore());
+				assertArrayEquals(expected.get(i).getPath(), found.get(i).getPath());
+				assertEquals(found.get(i).getWord(), foundFromArray.get(i).getWord());
+			}
+		}
+		
+		assertEquals(EXPECTED_WORDS.size(), solver.solveWithScores(4, GRID_LETTERS, Integer.MAX_VALUE).size());
+		assertEquals("engoncer", solver.solveWithScores(4, GRID_LETTERS, 1).get(0).getWord());
+		assertEquals(0, solver.solveWithScores(4, GRID_LETTERS, 0).size());
+	}
+	
+	@Test
+	void failedSearchDoesNotChangeNextResult() {
+		FailingDictionary failing = new FailingDictionary(tree);
+		BoggleSolver solver = new BoggleSolver(failing);
+		
+		//the search stops in the middle of a path, with its cells still visited
+		failing.failAtDepth = 6;
+		assertThrows(IllegalStateException.class, () -> {solver.solve(4, GRID_LETTERS);});
+		
+		failing.failAtDepth = -1;
+		assertEquals(EXPECTED_WORDS, solver.solve(4, GRID_LETTERS));
+	}
+	
+	@Test
+	void onlySmallLayoutsAreShared() {
+		assertSame(GridLayout.of(5), GridLayout.of(5));
+		assertNotSame(GridLayout.of(40), GridLayout.of(40));
+		assertArrayEquals(GridLayout.of(40).neighborStart, GridLayout.of(40).neighborStart);
+		assertArrayEquals(GridLayout.of(40).neighbors, GridLayout.of(40).neighbors);
+		
+		//a batch of big grids gives the same words as Boggle
+		BoggleSolver solver = new BoggleSolver(dictionary);
+		for (int i = 0; i < 3; i++) {
+			Boggle boggle = new Boggle(20, tree);
+			assertEquals(boggle.solve(), solver.solve(20, boggle.letters()));
+		}
+	}
+	
+	@Test
+	void incorrectFields() {
+		assertThrows(IllegalArgumentException.class, () -> {new BoggleSolver(null);});
+		
+		BoggleSolver solver = new BoggleSolver(dictionary);
+		assertThrows(IllegalArgumentException.class, () -> {solver.solve(3, "arte");});
+		assertThrows(IllegalArgumentException.class, () -> {solver.solve(0, "arte");});
+		assertThrows(IllegalArgumentException.class, () -> {solver.solve(2, (String) null);});
+		assertThrows(IllegalArgumentException.class, () -> {solver.solve(2, (char[]) null);});
+		assertThrows(IllegalArgumentException.class, () -> {solver.solveAll(2, (List<String>) null);});
+		assertThrows(IllegalArgumentException.class, () -> {solver.solveWithScores(4, GRID_LETTERS, -1);});
+		assertThrows(IllegalArgumentException.class, () -> {solver.solveWithScores(3, "arte", 0);});
+		assertDoesNotThrow(() -> {solver.solve(1, "a");});
+	}
+	
+	//region Utils methods
+	
+	/**
+	 * A dictionary whose cursors throw an exception when they reach a depth.
+	 */
+	private static class FailingDictionary implements WordDictionary {
+		private final WordDictionary dictionary;
+		// the depth where the cursors throw, -1 to never throw
+		private int failAtDepth = -1;
+		
+		private FailingDictionary(WordDictionary dictionary) {
+			this.dictionary = dictionary;
+		}
+		
+		@Override
+		public int size() {
+			return dictionary.size();
+		}
+		
+		@Override
+		public boolean containsWord(CharSequence word) {
+			return dictionary.containsWord(word);
+		}
+		
+		@Override
+		public boolean containsPrefix(CharSequence prefix) {
+			return dictionary.containsPrefix(prefix);
+		}
+		
+		@Override
+		public List<String> getWords(String prefix) {
+			return dictionary.getWords(prefix);
+		}
+		
+		@Override
+		public List<String> getWordsOfLength(int length) {
+			return dictionary.getWordsOfLength(length);
+		}
+		
+		@Override
+		public TrieCursor cursor() {
+			TrieCursor cursor = dictionary.cursor();
+			
+			return new TrieCursor() {
+				@Override
+				public boolean advance(char letter) {
+					boolean advanced = cursor.advance(letter);
+					if(advanced && cursor.depth() == failAtDepth) throw new IllegalStateException();
+					return advanced;
+				}
+				
+				@Override
+				public void backtrack() {
+					cursor.backtrack();
+				}
+				
+				@Override
+				public boolean isWord() {
+					return cursor.isWord();
+				}
+				
+				@Override
+				public boolean hasChildren() {
+					return cursor.hasChildren();
+				}
+				
+				@Override
+				public int depth() {
+					return cursor.depth();
+				}
+				
+				@Override
+				public void reset() {
+					cursor.reset();
+				}
+			};
+		}
+	}
+	
+	//endregion
+}
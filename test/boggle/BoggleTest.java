@@ -2,7 +2,11 @@ package boggle;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
 
+import models.Dice;
+import models.FoundWord;
 import tree.LexicographicTree;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,7 +36,7 @@ public class BoggleTest {
 	void wikipediaExample() {
 		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
 		assertNotNull(b);
-		//assertEquals(GRID_LETTERS, b.letters());
+		assertEquals(GRID_LETTERS, b.letters());
 		
 		assertTrue(b.contains("songent"));
 		assertFalse(b.contains("sono"));
@@ -97,6 +101,167 @@ public class BoggleTest {
 		assertEquals("ar\nte", b.toString());
 	}
 	
+	@Test
+	void solveInParallelSameAsSolve() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		assertEquals(EXPECTED_WORDS, b.solveInParallel());
+		
+		//enough cells to split the search between several tasks
+		Boggle big = new Boggle(20, dictionary);
+		assertEquals(big.solve(), big.solveInParallel());
+	}
+	
+	@Test
+	void wordLongerThanTheFirstBuffers() {
+		//the word goes through all the cells, row by row, in both directions
+		String snake = "abcdejihgfklmnotsrqpuvwxy";
+		LexicographicTree dict = new LexicographicTree();
+		dict.insertWord(snake);
+		dict.insertWord("abc");
+		Boggle b = new Boggle(5, "abcdefghijklmnopqrstuvwxy", dict);
+		
+		Set<String> expected = new TreeSet<String>(Arrays.asList("abc", snake));
+		assertEquals(expected, b.solve());
+		//the searches of the threads are kept from one solve to the next
+		assertEquals(expected, b.solveInParallel());
+		assertEquals(expected, b.solveInParallel());
+		
+		FoundWord best = b.solveWithScores(1).get(0);
+		assertEquals(snake, best.getWord());
+		assertPathMakesWord(b, 5, best);
+	}
+	
+	@Test
+	void wordsStrategySameAsPaths() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		assertEquals(EXPECTED_WORDS, b.solve(Boggle.SolveStrategy.WORDS));
+		assertEquals(Boggle.SolveStrategy.WORDS, b.getLastStrategy());
+		
+		Boggle big = new Boggle(20, dictionary);
+		assertEquals(big.solve(Boggle.SolveStrategy.PATHS), big.solve(Boggle.SolveStrategy.WORDS));
+		
+		//the frontier can come back on a cell already used, the word must not be found
+		LexicographicTree dict = new LexicographicTree();
+		dict.insertWord("ara");
+		dict.insertWord("arra");
+		dict.insertWord("rar");
+		Boggle line = new Boggle(2, "arxx", dict);
+		assertEquals(new TreeSet<String>(), line.solve(Boggle.SolveStrategy.WORDS));
+		assertEquals(line.solve(Boggle.SolveStrategy.PATHS), line.solve(Boggle.SolveStrategy.WORDS));
+		
+		assertThrows(IllegalArgumentException.class, () -> b.solve(null));
+	}
+	
+	@Test
+	void solveChoosesStrategyFromSize() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		assertNull(b.getLastStrategy());
+		b.solve();
+		assertEquals(Boggle.SolveStrategy.PATHS, b.getLastStrategy());
+		
+		Boggle big = new Boggle(60, dictionary);
+		big.solve();
+		assertEquals(Boggle.SolveStrategy.WORDS, big.getLastStrategy());
+		
+		//the parallel search always follows the paths
+		assertEquals(big.solve(), big.solveInParallel());
+		assertEquals(Boggle.SolveStrategy.PATHS, big.getLastStrategy());
+	}
+	
+	@Test
+	void solveWithScores() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		List<FoundWord> found = b.solveWithScores();
+		
+		assertEquals(EXPECTED_WORDS.size(), found.size());
+		assertEquals("engoncer", found.get(0).getWord());
+		assertEquals(11, found.get(0).getScore());
+		for (int i = 0; i < found.size(); i++) {
+			FoundWord word = found.get(i);
+			assertTrue(EXPECTED_WORDS.contains(word.getWord()));
+			assertEquals(FoundWord.score(word.getWord().length()), word.getScore());
+			assertPathMakesWord(b, 4, word);
+			if (i > 0) {
+				FoundWord previous = found.get(i - 1);
+				assertTrue(previous.getScore() > word.getScore()
+						|| (previous.getScore() == word.getScore() && previous.getWord().compareTo(word.getWord()) < 0));
+			}
+		}
+		
+		//the best words are the beginning of the whole list
+		assertEquals(found.subList(0, 5).toString(), b.solveWithScores(5).toString());
+		assertEquals(0, b.solveWithScores(0).size());
+		assertThrows(IllegalArgumentException.class, () -> b.solveWithScores(-1));
+		
+		//the paths of the WORDS strategy are rebuilt from the frontiers
+		Boggle big = new Boggle(60, dictionary);
+		List<FoundWord> best = big.solveWithScores(50);
+		assertEquals(Boggle.SolveStrategy.WORDS, big.getLastStrategy());
+		assertEquals(50, best.size());
+		List<FoundWord> all = big.solveWithScores();
+		for (int i = 0; i < best.size(); i++) {
+			assertEquals(all.get(i).getWord(), best.get(i).getWord());
+		}
+		for (FoundWord word : best) {
+			assertPathMakesWord(big, 60, word);
+		}
+	}
+	
+	@Test
+	void scores() {
+		int[] expected = {0, 0, 0, 1, 1, 2, 3, 5, 11, 11, 11};
+		for (int length = 0; length < expected.length; length++) {
+			assertEquals(expected[length], FoundWord.score(length));
+		}
+	}
+	
+	@Test
+	void foundWordKeepsItsPath() {
+		int[] path = {0, 1, 5};
+		FoundWord found = new FoundWord("rhy", path);
+		
+		//the caller can reuse its array
+		path[0] = 4;
+		assertArrayEquals(new int[] {0, 1, 5}, found.getPath());
+		found.getPath()[1] = 9;
+		assertArrayEquals(new int[] {0, 1, 5}, found.getPath());
+		
+		assertEquals(new FoundWord("rhy", new int[] {0, 1, 5}), found);
+		assertEquals(new FoundWord("rhy", new int[] {0, 1, 5}).hashCode(), found.hashCode());
+		assertNotEquals(new FoundWord("rhy", new int[] {2, 1, 5}), found);
+		assertNotEquals(new FoundWord("rhr", new int[] {0, 1, 5}), found);
+		
+		assertThrows(IllegalArgumentException.class, () -> {new FoundWord(null, new int[0]);});
+		assertThrows(IllegalArgumentException.class, () -> {new FoundWord("rhy", null);});
+		assertThrows(IllegalArgumentException.class, () -> {new FoundWord("rhy", new int[] {0, 1});});
+		
+		//only the beginning of a buffer is kept
+		int[] buffer = {0, 1, 5, 7, 8};
+		FoundWord fromBuffer = new FoundWord("rhy", buffer, 3);
+		buffer[1] = 9;
+		assertEquals(found, fromBuffer);
+		assertArrayEquals(new int[] {0, 1, 5}, fromBuffer.getPath());
+		assertThrows(IllegalArgumentException.class, () -> {new FoundWord("rhy", buffer, 2);});
+		assertThrows(IllegalArgumentException.class, () -> {new FoundWord("rhyme", new int[] {0, 1, 5}, 5);});
+	}
+	
+	@Test
+	void toGraph() {
+		Boggle b = new Boggle(3, "asxduavre", new LexicographicTree());
+		Graph<Dice, DefaultEdge> graph = b.toGraph();
+		
+		assertEquals(9, graph.vertexSet().size());
+		//6 horizontal, 6 vertical and 8 diagonal edges
+		assertEquals(20, graph.edgeSet().size());
+		
+		//the center is linked to all the other dices, a corner to 3 of them
+		Dice[] dices = graph.vertexSet().toArray(new Dice[0]);
+		assertEquals('u', dices[4].getLetter());
+		assertEquals(8, graph.degreeOf(dices[4]));
+		assertEquals(3, graph.degreeOf(dices[0]));
+		assertEquals(5, graph.degreeOf(dices[1]));
+	}
+	
 	/*@Test
 	void solve4x4English() {
 		List<String> expected = Arrays.asList("esa", "eess", "ere", "eres", "erg", "ert", "erusse", "erusser", "erustes", "esn", "ess", "est", "esu", "ets", "eue", "eues", "eur", "eure", "eus", "eusse", "eut", "eutes", "eutm", "fee", "feer", "fees", "fer", "feret", "ferets", "fert", "feru", "ferue", "ferues", "ferus", "fes", "fessu", "fessue", "fessy", "fet", "fetu", "fetus", "feu", "feue", "feues", "feur", "feure", "feurer", "feures", "feus", "feutre", "feutrer", "feutres", "fre", "free", "frere", "freres", "fressure", "fret", "frets", "freusse", "freusser", "fse", "fss", "gre", "gree", "greer", "grees", "gref", "gres", "gress", "gressy", "gru", "grue", "gruee", "gruees", "gruer", "grues", "grusse", "grust", "grute", "grutee", "gruter", "grutes", "gtr", "gtt", "gue", "guee", "gueer", "guees", "guer", "guere", "gueres", "gueret", "guerets", "gues", "guess", "guet", "guets", "guett", "gur", "gus", "guse", "guses", "guss", "gusse", "guster", "gut", "guts", "gutte", "guy", "mss", "mst", "mts", "mtu", "mys", "myste", "mystere", "mystes", "myt", "myure", "myures", "nsf", "nsu", "ree", "reer", "rees", "reest", "reet", "ref", "refre", "refs", "rer", "rerue", "rerues", "res", "ressu", "ressue", "ressuer", "ressut", "rest", "resu", "resue", "resuer", "resure", "resut", "ret", "rets", "retu", "retue", "retuer", "retus", "retut", "rety", "reu", "reus", "reuse", "reuser", "reuses", "reuss", "reusse", "reut", "reute", "reuter", "rtg", "rtt", "rue", "ruee", "ruees", "ruer", "rues", "rug", "rus", "ruse", "rusee", "ruser", "ruses", "russ", "russe", "russy", "rust", "rut", "rute", "ruts", "rutter", "ruy", "see", "ser", "sere", "serf", "serfs", "sert", "ses", "sestu", "sesue", "set", "sets", "seu", "seur", "seurer", "smts", "sns", "sse", "ssf", "sss", "ssss", "sst", "ssu", "ste", "stere", "sterer", "stert", "stes", "stm", "sts", "stuer", "sue", "suee", "suees", "suer", "sues", "suet", "suets", "sur", "sure", "sures", "suret", "surets", "sut", "sutes", "suttee", "tee", "tef", "tefs", "ter", "terf", "terfs", "tergu", "tes", "tessure", "teu", "teug", "tms", "tre", "tref", "trefe", "trefes", "trefs", "tres", "tressue", "tressuer", "trest", "trests", "trets", "treu", "trg", "tru", "truss", "trust", "truste", "trustee", "truster", "trustes", "trusts", "trut", "trute", "truter", "trutes", "tse", "tsf", "tsm", "tss", "tsss", "tsu", "tte", "ttm", "ttr", "tts", "ttu", "tue", "tuee", "tuees", "tuer", "tues", "tug", "tur", "tus", "tuss", "tusse", "tust", "tuste", "tustee", "tuster", "tustes", "tusts", "tut", "tute", "tuter", "tutes", "tuy", "tuysse", "tuyssee", "tuysser", "tuysses", "uee", "uess", "ure", "uree", "urees", "ures", "urt", "use", "usee", "user", "uses", "usn", "uss", "usse", "ussy", "uster", "ute", "utes", "utm", "utr", "uts", "utt", "ymt", "yss", "ytres", "yue", "yues", "yug", "yur", "yuste", "yut");
@@ -131,4 +296,21 @@ public class BoggleTest {
 		assertDoesNotThrow(() -> {new Boggle(1, dict);});
 	}
 
+	//region Utils methods
+	private static void assertPathMakesWord(Boggle b, int size, FoundWord word) {
+		int[] path = word.getPath();
+		String letters = b.letters();
+		
+		assertEquals(word.getWord().length(), path.length);
+		for (int i = 0; i < path.length; i++) {
+			assertEquals(word.getWord().charAt(i), letters.charAt(path[i]), word.toString());
+			for (int j = 0; j < i; j++) {
+				assertNotEquals(path[j], path[i], word.toString());
+			}
+			if (i > 0) {
+				assertTrue(Math.abs(path[i] / size - path[i - 1] / size) <= 1 && Math.abs(path[i] % size - path[i - 1] % size) <= 1, word.toString());
+			}
+		}
+	}
+	//endregion
 }
@@ -0,0 +1,105 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentLexicographicTreeTest {
+	private static final String[] WORDS = new String[] {"aide", "as", "au", "aux",
+			"bu", "bus", "but", "et", "ete"};
+	
+	@Test
+	void sameResultsAsLexicographicTree() {
+		ConcurrentLexicographicTree tree = new ConcurrentLexicographicTree();
+		LexicographicTree expected = new LexicographicTree();
+		for (String word : WORDS) {
+			tree.insertWord(word);
+			expected.insertWord(word);
+		}
+		tree.insertWord("bus");
+		
+		assertEquals(WORDS.length, tree.size());
+		assertEquals(expected.getWords(""), tree.getWords(""));
+		assertEquals(expected.getWords("bu"), tree.getWords("bu"));
+		assertEquals(expected.getWordsOfLength(3), tree.getWordsOfLength(3));
+		assertTrue(tree.containsWord("aux"));
+		assertFalse(tree.containsWord("a"));
+		assertTrue(tree.containsPrefix("ai"));
+		assertFalse(tree.containsWord(""));
+		assertThrows(IllegalArgumentException.class, () -> tree.containsWord(null));
+		
+		TrieCursor cursor = tree.cursor();
+		assertTrue(cursor.advance('e'));
+		assertTrue(cursor.advance('t'));
+		assertTrue(cursor.isWord());
+		assertTrue(cursor.hasChildren());
+		cursor.reset();
+		assertThrows(IllegalStateException.class, () -> cursor.backtrack());
+	}
+	
+	@Test
+	void concurrentInsertsAndReads() throws InterruptedException {
+		int writerCount = 4;
+		int wordsPerWriter = 5000;
+		ConcurrentLexicographicTree tree = new ConcurrentLexicographicTree();
+		
+		//the words inserted before the start must be found during the whole test
+		List<String> initialWords = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			initialWords.add(word(i) + "-");
+			tree.insertWord(word(i) + "-");
+		}
+		
+		//the writers insert overlapping ranges, so they often create the same nodes at the same time
+		AtomicBoolean writing = new AtomicBoolean(true);
+		AtomicInteger errors = new AtomicInteger();
+		Thread[] writers = new Thread[writerCount];
+		for (int t = 0; t < writerCount; t++) {
+			int start = t * wordsPerWriter / 2;
+			writers[t] = new Thread(() -> {
+				for (int i = start; i < start + wordsPerWriter; i++) {
+					tree.insertWord(word(i));
+				}
+			});
+		}
+		Thread[] readers = new Thread[2];
+		for (int t = 0; t < readers.length; t++) {
+			readers[t] = new Thread(() -> {
+				while (writing.get()) {
+					for (String word : initialWords) {
+						if (!tree.containsWord(word)) errors.incrementAndGet();
+					}
+				}
+			});
+		}
+		
+		for (Thread reader : readers) reader.start();
+		for (Thread writer : writers) writer.start();
+		for (Thread writer : writers) writer.join();
+		writing.set(false);
+		for (Thread reader : readers) reader.join();
+		
+		int distinct = (writerCount + 1) * wordsPerWriter / 2;
+		assertEquals(0, errors.get());
+		assertEquals(initialWords.size() + distinct, tree.size());
+		assertEquals(tree.size(), tree.getWords("").size());
+		for (int i = 0; i < distinct; i++) {
+			assertTrue(tree.containsWord(word(i)), "Mot " + word(i) + " non trouvé");
+		}
+	}
+	
+	//region Utils methods
+	private static String word(int number) {
+		StringBuilder word = new StringBuilder();
+		do {
+			word.append((char) ('a' + number % 26));
+			number /= 26;
+		} while (number > 0);
+		return word.toString();
+	}
+	//endregion
+}
@@ -0,0 +1,167 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+
+public class DawgTest {
+	private static final String[] WORDS = new String[] {"aide", "as", "au", "aux",
+			"bu", "bus", "but", "et", "ete"};
+	private static final LexicographicTree TREE = new LexicographicTree();
+	private static Dawg dict;
+	
+	@BeforeAll
+	private static void initTestDictionary() {
+		for (int i=0; i<WORDS.length; i++) {
+			TREE.insertWord(WORDS[i]);
+		}
+		dict = TREE.freeze();
+	}
+	
+	@Test
+	void size_General() {
+		assertEquals(WORDS.length, dict.size());
+		assertEquals(0, new LexicographicTree().freeze().size());
+	}
+	
+	@Test
+	void containsWord_General() {
+		for (String word : WORDS) {
+			assertTrue(dict.containsWord(word), "Mot " + word + " non trouvé");
+		}
+		for (String word : new String[] {"", "aled", "hihi", "aides", "mot", "e"}) {
+			assertFalse(dict.containsWord(word), "Mot " + word + " inexistant trouvé");
+		}
+		assertTrue(dict.containsPrefix("ai"));
+		assertFalse(dict.containsPrefix("ax"));
+	}
+	
+	@Test
+	void getWords_General() {
+		assertArrayEquals(WORDS, dict.getWords("").toArray());
+		assertArrayEquals(new String[] {"bu", "bus", "but"}, dict.getWords("bu").toArray());
+		assertEquals(0, dict.getWords("x").size());
+		assertThrows(IllegalArgumentException.class, () -> dict.getWords(null));
+	}
+	
+	@Test
+	void getWordsOfLength_General() {
+		assertArrayEquals(new String[] {"aux", "bus", "but", "ete"}, dict.getWordsOfLength(3).toArray());
+		assertEquals(0, dict.getWordsOfLength(0).size());
+		assertEquals(0, dict.getWordsOfLength(10).size());
+		assertEquals(0, new LexicographicTree().freeze().getWordsOfLength(1).size());
+	}
+	
+	@Test
+	void getWordsOfLength_ListIsNotShared() {
+		dict.getWordsOfLength(2).clear();
+		assertArrayEquals(new String[] {"as", "au", "bu", "et"}, dict.getWordsOfLength(2).toArray());
+	}
+	
+	@Test
+	void sharedSuffixes() {
+		LexicographicTree tree = new LexicographicTree();
+		tree.insertWord("chanter");
+		tree.insertWord("danser");
+		tree.insertWord("manger");
+		Dawg dawg = tree.freeze();
+		// "er" and the end of word are only stored once
+		assertTrue(dawg.stateCount() < 19);
+		assertArrayEquals(new String[] {"chanter", "danser", "manger"}, dawg.getWords("").toArray());
+	}
+	
+	@Test
+	void cursor() {
+		TrieCursor cursor = dict.cursor();
+		assertTrue(cursor.advance('b'));
+		assertTrue(cursor.advance('u'));
+		assertTrue(cursor.isWord());
+		assertTrue(cursor.hasChildren());
+		assertFalse(cursor.advance('x'));
+		assertTrue(cursor.advance('t'));
+		assertFalse(cursor.hasChildren());
+		cursor.backtrack();
+		cursor.backtrack();
+		assertEquals(1, cursor.depth());
+		cursor.reset();
+		assertThrows(IllegalStateException.class, () -> cursor.backtrack());
+	}
+	
+	@Test
+	void writeAndOpenImage() throws IOException {
+		Path image = Files.createTempFile("dictionary", ".dawg");
+		try {
+			dict.write(image.toString());
+			Dawg mapped = Dawg.open(image.toString());
+			assertEquals(dict.size(), mapped.size());
+			assertEquals(dict.stateCount(), mapped.stateCount());
+			assertArrayEquals(WORDS, mapped.getWords("").toArray());
+			assertTrue(mapped.containsWord("ete"));
+			assertFalse(mapped.containsWord("et-"));
+			assertTrue(mapped.cursor().advance('b'));
+			// the word lengths of the states are read from the image
+			assertEquals(dict.getWordsOfLength(3), mapped.getWordsOfLength(3));
+			assertEquals(0, mapped.getWordsOfLength(5).size());
+		} finally {
+			Files.delete(image);
+		}
+	}
+	
+	@Test
+	void openInvalidImage() throws IOException {
+		Path image = Files.createTempFile("dictionary", ".dawg");
+		try {
+			Files.writeString(image, "aide\nas\nau\n");
+			assertThrows(IOException.class, () -> Dawg.open(image.toString()));
+		} finally {
+			Files.delete(image);
+		}
+	}
+	
+	@Test
+	void openImageWithInvalidHeader() throws IOException {
+		Path image = Files.createTempFile("dictionary", ".dawg");
+		try {
+			dict.write(image.toString());
+			byte[] valid = Files.readAllBytes(image);
+			// state count, edge count, root : negative, too big for the file or outside the states
+			int[][] corruptions = {{8, -1}, {8, 0}, {8, Integer.MAX_VALUE}, {12, -1}, {12, Integer.MAX_VALUE},
+					{16, -1}, {16, dict.stateCount()}};
+			for (int[] corruption : corruptions) {
+				ByteBuffer bytes = ByteBuffer.wrap(valid.clone()).order(ByteOrder.LITTLE_ENDIAN);
+				bytes.putInt(corruption[0], corruption[1]);
+				Files.write(image, bytes.array());
+				assertThrows(IOException.class, () -> Dawg.open(image.toString()), "Octet " + corruption[0] + " = " + corruption[1]);
+			}
+		} finally {
+			Files.delete(image);
+		}
+	}
+	
+	@Test
+	void frenchDictionary() throws IOException {
+		LexicographicTree tree = new LexicographicTree("mots/dictionnaire_FR_sans_accents.txt");
+		Dawg dawg = tree.freeze();
+		assertEquals(tree.size(), dawg.size());
+		List<String> words = Files.readAllLines(Paths.get("mots/dictionnaire_FR_sans_accents.txt"));
+		for (String word : words) {
+			assertTrue(dawg.containsWord(word), "Mot " + word + " non trouvé");
+			assertFalse(dawg.containsWord(word + "xx"), "Mot " + word + "xx inexistant trouvé");
+		}
+		assertEquals(tree.getWords("ma"), dawg.getWords("ma"));
+		// the first call fills the index of the length, the second one reads it
+		for (int length = 1; length <= 30; length++) {
+			assertEquals(tree.getWordsOfLength(length), dawg.getWordsOfLength(length), "Longueur " + length);
+			assertEquals(tree.getWordsOfLength(length), dawg.getWordsOfLength(length), "Longueur " + length);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+
+public class DoubleArrayTrieTest {
+	private static final String[] WORDS = new String[] {"aide", "as", "au", "aux",
+			"bu", "bus", "but", "et", "ete"};
+	private static DoubleArrayTrie dict;
+	
+	@BeforeAll
+	private static void initTestDictionary() {
+		LexicographicTree tree = new LexicographicTree();
+		for (int i=0; i<WORDS.length; i++) {
+			tree.insertWord(WORDS[i]);
+		}
+		dict = new DoubleArrayTrie(tree);
+	}
+	
+	@Test
+	void size_General() {
+		assertEquals(WORDS.length, dict.size());
+		assertEquals(0, new DoubleArrayTrie(new LexicographicTree()).size());
+	}
+	
+	@Test
+	void containsWord_General() {
+		for (String word : WORDS) {
+			assertTrue(dict.containsWord(word), "Mot " + word + " non trouvé");
+		}
+		for (String word : new String[] {"", "aled", "hihi", "aides", "mot", "e", "é", "butz"}) {
+			assertFalse(dict.containsWord(word), "Mot " + word + " inexistant trouvé");
+		}
+		assertTrue(dict.containsPrefix("ai"));
+		assertFalse(dict.containsPrefix("ax"));
+		assertFalse(new DoubleArrayTrie(new LexicographicTree()).containsWord("a"));
+	}
+	
+	@Test
+	void getWords_General() {
+		assertArrayEquals(WORDS, dict.getWords("").toArray());
+		assertArrayEquals(new String[] {"bu", "bus", "but"}, dict.getWords("bu").toArray());
+		assertEquals(0, dict.getWords("x").size());
+		assertArrayEquals(new String[] {"aux", "bus", "but", "ete"}, dict.getWordsOfLength(3).toArray());
+	}
+	
+	@Test
+	void cursor() {
+		TrieCursor cursor = dict.cursor();
+		assertTrue(cursor.advance('a'));
+		assertTrue(cursor.advance('u'));
+		assertTrue(cursor.isWord());
+		assertTrue(cursor.advance('x'));
+		assertFalse(cursor.hasChildren());
+		assertFalse(cursor.advance('s'));
+		cursor.backtrack();
+		assertEquals(2, cursor.depth());
+	}
+	
+	@Test
+	void frenchDictionary() throws IOException {
+		DoubleArrayTrie trie = new DoubleArrayTrie("mots/dictionnaire_FR_sans_accents.txt");
+		List<String> words = Files.readAllLines(Paths.get("mots/dictionnaire_FR_sans_accents.txt"));
+		assertEquals(words.size(), trie.size());
+		for (String word : words) {
+			assertTrue(trie.containsWord(word), "Mot " + word + " non trouvé");
+			assertFalse(trie.containsWord(word + "xx"), "Mot " + word + "xx inexistant trouvé");
+		}
+		assertEquals(words, trie.getWords(""));
+	}
+}
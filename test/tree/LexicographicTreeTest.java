@@ -6,8 +6,15 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -52,6 +59,89 @@ public class LexicographicTreeTest {
 		assertEquals(0, dict.size());
 	}
 
+	@Test
+	void constructorReadsLinesLikeReadLine() throws IOException {
+		Path file = Files.createTempFile("dictionary", ".txt");
+		try {
+			Files.write(file, "aide\r\nas\rau x\n\ncafé\nl'été\r\n1bus\nbu-t\n1été\n\u00e0 la\n-ab".getBytes(StandardCharsets.UTF_8));
+			LexicographicTree expected = new LexicographicTree();
+			try (BufferedReader reader = Files.newBufferedReader(file)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					expected.insertWord(line);
+				}
+			}
+			LexicographicTree loaded = new LexicographicTree(file.toString());
+			assertEquals(expected.size(), loaded.size());
+			assertEquals(expected.getWords(""), loaded.getWords(""));
+			assertEquals(expected.getWordsOfLength(4), loaded.getWordsOfLength(4));
+			assertTrue(loaded.containsWord("café"));
+			assertTrue(loaded.containsWord("aux"));
+			assertTrue(loaded.containsWord(""));
+			
+			//the parallel loader parses the same bytes
+			LexicographicTree parallel = LexicographicTree.loadInParallel(file.toString());
+			assertEquals(expected.getWords(""), parallel.getWords(""));
+			assertEquals(expected.getWordsOfLength(4), parallel.getWordsOfLength(4));
+			assertEquals(expected.countWithPrefix("a"), parallel.countWithPrefix("a"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	void loadInParallel() throws IOException {
+		Path file = Files.createTempFile("dictionary", ".txt");
+		try {
+			Files.write(file, List.of("bus", "aide", "", "1as", "au", "bu", "et", "ete", "aux", "but", "au", "-t"));
+			LexicographicTree sequential = new LexicographicTree(file.toString());
+			LexicographicTree parallel = LexicographicTree.loadInParallel(file.toString());
+			assertEquals(sequential.size(), parallel.size());
+			assertEquals(sequential.getWords(""), parallel.getWords(""));
+			assertEquals(sequential.getWordsOfLength(3), parallel.getWordsOfLength(3));
+			assertEquals(sequential.countWithPrefix("a"), parallel.countWithPrefix("a"));
+			assertTrue(parallel.containsWord(""));
+		} finally {
+			Files.delete(file);
+		}
+		assertEquals(0, LexicographicTree.loadInParallel("fichier/inexistant.txt").size());
+		
+		//a line that is not valid UTF-8 cannot be read
+		Path invalid = Files.createTempFile("dictionary", ".txt");
+		try {
+			Files.write(invalid, new byte[] {'a', 's', '\n', 'b', (byte) 0xff, '\n'});
+			assertEquals(0, LexicographicTree.loadInParallel(invalid.toString()).size());
+		} finally {
+			Files.delete(invalid);
+		}
+	}
+
+	@Test
+	void fromSortedWords() {
+		LexicographicTree sorted = LexicographicTree.fromSortedWords(List.of("", "aide", "as", "as", "au", "aux", "bu", "bus", "but", "e1t", "ete"));
+		assertEquals(DICT.size() + 1, sorted.size());
+		assertEquals(DICT.getWords(""), sorted.getWords("").subList(1, sorted.size()));
+		assertEquals(DICT.getWordsOfLength(3), sorted.getWordsOfLength(3));
+		assertEquals(DICT.countWithPrefix("bu"), sorted.countWithPrefix("bu"));
+		assertEquals(DICT.rank("bus"), sorted.rank("bus") - 1);
+		assertTrue(sorted.containsWord(""));
+		
+		assertThrows(IllegalArgumentException.class, () -> LexicographicTree.fromSortedWords(List.of("bus", "bu")));
+		assertThrows(IllegalArgumentException.class, () -> LexicographicTree.fromSortedWords(List.of("bus", "as")));
+		assertThrows(IllegalArgumentException.class, () -> LexicographicTree.fromSortedWords((Iterable<String>) null));
+	}
+	
+	@Test
+	void fromSortedFrenchDictionary() throws IOException {
+		String filename = "mots/dictionnaire_FR_sans_accents.txt";
+		LexicographicTree expected = new LexicographicTree(filename);
+		LexicographicTree sorted = LexicographicTree.fromSortedWords(Path.of(filename));
+		assertEquals(expected.size(), sorted.size());
+		assertEquals(expected.getWords("ma"), sorted.getWords("ma"));
+		assertEquals(expected.getWordsOfLength(9), sorted.getWordsOfLength(9));
+		assertEquals(expected.select(123456), sorted.select(123456));
+	}
+
 	@Test
 	void insertWord_General() {
 		LexicographicTree dict = new LexicographicTree();
@@ -183,6 +273,30 @@ public class LexicographicTreeTest {
 		tree.insertWord("coca");
 		assertEquals(4, tree.size());
 	}
+	
+	@Test
+	void countWithPrefix(){
+		assertEquals(WORDS.length, DICT.countWithPrefix(""));
+		assertEquals(4, DICT.countWithPrefix("a"));
+		assertEquals(3, DICT.countWithPrefix("bu"));
+		assertEquals(1, DICT.countWithPrefix("but"));
+		assertEquals(0, DICT.countWithPrefix("x"));
+		assertEquals(0, DICT.countWithPrefix("buts"));
+	}
+	
+	@Test
+	void rankAndSelect(){
+		for (int i = 0; i < WORDS.length; i++) {
+			assertEquals(i, DICT.rank(WORDS[i]));
+			assertEquals(WORDS[i], DICT.select(i));
+		}
+		assertEquals(0, DICT.rank(""));
+		assertEquals(4, DICT.rank("b"));
+		assertEquals(7, DICT.rank("butte"));
+		assertEquals(WORDS.length, DICT.rank("z"));
+		assertThrows(IllegalArgumentException.class, () -> DICT.select(WORDS.length));
+		assertThrows(IllegalArgumentException.class, () -> DICT.select(-1));
+	}
 
 	/*@Test
 	void getSize1500Words(){
@@ -207,7 +321,51 @@ public class LexicographicTreeTest {
 		assertFalse(tree.containsWord("sod"));
 		assertTrue(tree.containsWord("sodonium"));
 	}
+	
+	@Test
+	void containsWordFromBuffer(){
+		tree.insertWord("test");
+		tree.insertWord("soda");
+		tree.insertWord("sodonium");
+		StringBuilder buffer = new StringBuilder("sod");
+		assertFalse(tree.containsWord(buffer));
+		assertTrue(tree.containsPrefix(buffer));
+		buffer.append('a');
+		assertTrue(tree.containsWord(buffer));
+		buffer.setLength(0);
+		buffer.append("sodas");
+		assertFalse(tree.containsWord(buffer));
+		assertFalse(tree.containsPrefix(buffer));
+		char[] chars = {'x', 't', 'e', 's', 't', 'x'};
+		assertTrue(tree.containsWord(CharBuffer.wrap(chars, 1, 4)));
+	}
 
+	@Test
+	void cursorAdvanceAndBacktrack(){
+		tree.insertWord("so");
+		tree.insertWord("soda");
+		tree.insertWord("sodonium");
+		TrieCursor cursor = tree.cursor();
+		assertEquals(0, cursor.depth());
+		assertFalse(cursor.isWord());
+		assertTrue(cursor.advance('s'));
+		assertTrue(cursor.advance('o'));
+		assertTrue(cursor.isWord());
+		assertTrue(cursor.advance('d'));
+		assertFalse(cursor.isWord());
+		assertFalse(cursor.advance('x'));
+		assertEquals(3, cursor.depth());
+		assertTrue(cursor.advance('a'));
+		assertTrue(cursor.isWord());
+		assertFalse(cursor.hasChildren());
+		cursor.backtrack();
+		assertTrue(cursor.advance('o'));
+		assertTrue(cursor.hasChildren());
+		cursor.reset();
+		assertEquals(0, cursor.depth());
+		assertThrows(IllegalStateException.class, () -> cursor.backtrack());
+	}
+	
 	/*@Test
 	void containsWord1500Words(){
 		add1500WordsInTree(tree);
@@ -343,8 +501,303 @@ public class LexicographicTreeTest {
         });
         assertNotNull(exception);
 	}
+	
+	@Test
+	void getAllWordsEmptyTree(){
+		assertEquals(0, tree.getWords("").size());
+	}
+	
+	@Test
+	void iteratorSameOrderAsGetWords(){
+		Iterator<String> iterator = DICT.iterator("");
+		for (int i = 0; i < WORDS.length; i++) {
+			assertTrue(iterator.hasNext());
+			assertEquals(WORDS[i], iterator.next());
+		}
+		assertFalse(iterator.hasNext());
+		assertThrows(NoSuchElementException.class, () -> iterator.next());
+		
+		List<String> words = new ArrayList<>();
+		DICT.iterator("bu").forEachRemaining(words::add);
+		assertEquals(DICT.getWords("bu"), words);
+		assertFalse(DICT.iterator("z").hasNext());
+		assertThrows(IllegalArgumentException.class, () -> DICT.iterator(null));
+	}
+	
+	@Test
+	void streamWithLimit(){
+		assertEquals(List.of("as", "au"), DICT.stream("a").skip(1).limit(2).collect(Collectors.toList()));
+		assertEquals(WORDS.length, DICT.stream("").count());
+		assertEquals(0, DICT.stream("xyz").count());
+	}
+	
+	@Test
+	void getWordsWithLimitAndOffset(){
+		assertEquals(List.of("aide", "as"), DICT.getWords("", 2));
+		assertEquals(List.of("bus", "but"), DICT.getWords("bu", 1, 5));
+		for (int offset = 0; offset <= WORDS.length; offset++) {
+			List<String> expected = DICT.getWords("").subList(offset, Math.min(offset + 3, WORDS.length));
+			assertEquals(expected, DICT.getWords("", offset, 3));
+		}
+		assertEquals(0, DICT.getWords("a", 10, 3).size());
+		assertEquals(0, DICT.getWords("b", 0).size());
+		assertThrows(IllegalArgumentException.class, () -> DICT.getWords("a", -1, 3));
+		assertThrows(IllegalArgumentException.class, () -> DICT.getWords("a", -1));
+	}
+	
+	@Test
+	void getWordsAfterResumesPages(){
+		List<String> words = new ArrayList<>();
+		List<String> page = DICT.getWords("", 2);
+		while (!page.isEmpty()) {
+			words.addAll(page);
+			page = DICT.getWordsAfter("", page.get(page.size() - 1), 2);
+		}
+		assertEquals(DICT.getWords(""), words);
+		
+		assertEquals(List.of("bus", "but"), DICT.getWordsAfter("bu", "bu", 5));
+		assertEquals(List.of("but"), DICT.getWordsAfter("bu", "busa", 5));
+		assertEquals(List.of("bu", "bus"), DICT.getWordsAfter("bu", "a", 2));
+		assertEquals(0, DICT.getWordsAfter("bu", "c", 2).size());
+		assertThrows(IllegalArgumentException.class, () -> DICT.getWordsAfter("bu", null, 2));
+	}
+	
+	@Test
+	void getWordsAfterBlankHasNoLowerBound(){
+		LexicographicTree tree = new LexicographicTree();
+		tree.insertWord("");
+		tree.insertWord("as");
+		tree.insertWord("au");
+		
+		//the empty word is the first word, a blank after must not skip it
+		assertEquals(tree.getWords("", 3), tree.getWordsAfter("", "", 3));
+		assertEquals(List.of("", "as"), tree.getWordsAfter("", " ", 2));
+		assertEquals(List.of("au"), tree.getWordsAfter("", "as", 2));
+		assertEquals(DICT.getWords("a", 2), DICT.getWordsAfter("a", "", 2));
+	}
+	
+	@Test
+	void forEachWordSharesBuffer(){
+		List<String> words = new ArrayList<>();
+		DICT.forEachWord("e", word -> words.add(word.toString()));
+		assertEquals(List.of("et", "ete"), words);
+	}
 //endregion
 
+	//region findWithinDistance
+	@Test
+	void findWithinDistance(){
+		assertEquals(List.of("aide"), DICT.findWithinDistance("aide", 0));
+		assertEquals(List.of("as", "au", "aux", "bu"), DICT.findWithinDistance("au", 1));
+		assertEquals(List.of("bus"), DICT.findWithinDistance("bis", 1));
+		assertEquals(List.of("as", "bu", "bus", "but"), DICT.findWithinDistance("bis", 2));
+		assertEquals(List.of("et", "ete"), DICT.findWithinDistance("tete", 2));
+		assertEquals(0, tree.findWithinDistance("mot", 3).size());
+		assertThrows(IllegalArgumentException.class, () -> DICT.findWithinDistance(null, 1));
+		assertThrows(IllegalArgumentException.class, () -> DICT.findWithinDistance("au", -1));
+	}
+	
+	@Test
+	void findWithinDistanceSameAsAllDistances(){
+		for (String searched : new String[] {"", "a", "bsu", "aidee", "zzz", "etete"}) {
+			for (int distance = 0; distance <= 3; distance++) {
+				List<String> expected = new ArrayList<>();
+				for (String word : DICT.getWords("")) {
+					if (levenshtein(word, searched) <= distance) expected.add(word);
+				}
+				assertEquals(expected, DICT.findWithinDistance(searched, distance), searched + " / " + distance);
+			}
+		}
+	}
+	
+	@Test
+	void findWithinHugeDistance(){
+		//every word is within any distance, the rows must not be allocated for the whole distance
+		assertEquals(DICT.getWords(""), DICT.findWithinDistance("au", Integer.MAX_VALUE));
+		assertEquals(DICT.getWords(""), DICT.findWithinDistance("", Integer.MAX_VALUE - 1));
+		assertEquals(0, new LexicographicTree().findWithinDistance("au", Integer.MAX_VALUE).size());
+	}
+	//endregion
+
+	//region findWordsFromLetters
+	@Test
+	void findWordsFromLetters(){
+		assertEquals(List.of("as", "au", "bu", "bus"), DICT.findWordsFromLetters("usba"));
+		assertEquals(List.of("et", "ete"), DICT.findWordsFromLetters("tee"));
+		assertEquals(List.of("et"), DICT.findWordsFromLetters("tex"));
+		assertEquals(List.of("as", "au", "aux", "bu", "bus", "but", "et"), DICT.findWordsFromLetters("u??"));
+		assertEquals(0, DICT.findWordsFromLetters("").size());
+		assertThrows(IllegalArgumentException.class, () -> DICT.findWordsFromLetters(null));
+	}
+	
+	@Test
+	void findAnagrams(){
+		assertEquals(List.of("bus"), DICT.findAnagrams("sub"));
+		assertEquals(List.of("ete"), DICT.findAnagrams("tee"));
+		assertEquals(List.of("bus", "but"), DICT.findAnagrams("ub?"));
+		assertEquals(List.of("aide"), DICT.findAnagrams("????").subList(0, 1));
+		assertEquals(0, DICT.findAnagrams("tex").size());
+	}
+	
+	@Test
+	void findWordsFromLettersSameAsFilteredWords(){
+		for (String letters : new String[] {"abesutx", "a?", "e?t", "??", "???", "diae", "tube?"}) {
+			List<String> expected = new ArrayList<>();
+			List<String> anagrams = new ArrayList<>();
+			for (String word : DICT.getWords("")) {
+				if (canWrite(word, letters)) {
+					expected.add(word);
+					if (word.length() == letters.length()) anagrams.add(word);
+				}
+			}
+			assertEquals(expected, DICT.findWordsFromLetters(letters), letters);
+			assertEquals(anagrams, DICT.findAnagrams(letters), letters);
+		}
+	}
+	//endregion
+
+	//region remove
+	@Test
+	void removeWord(){
+		for (String word : WORDS) {
+			tree.insertWord(word);
+		}
+		assertTrue(tree.removeWord("aide"));
+		assertFalse(tree.removeWord("aide"));
+		assertFalse(tree.removeWord("a"));
+		assertFalse(tree.removeWord("zoo"));
+		assertFalse(tree.containsWord("aide"));
+		assertFalse(tree.containsPrefix("ai"));
+		assertEquals(WORDS.length - 1, tree.size());
+		assertEquals(3, tree.countWithPrefix("a"));
+		assertEquals(0, tree.getWordsOfLength(4).size());
+		
+		assertTrue(tree.removeWord("bu"));
+		assertTrue(tree.containsWord("bus"));
+		assertTrue(tree.containsPrefix("bu"));
+		assertEquals(List.of("as", "au", "aux", "bus", "but", "et", "ete"), tree.getWords(""));
+		assertEquals("bus", tree.select(3));
+		assertEquals(List.of("as", "au", "et"), tree.getWordsOfLength(2));
+		
+		assertTrue(tree.removeWord("b\tus"));
+		assertTrue(tree.removeWord("but"));
+		assertFalse(tree.containsPrefix("b"));
+		assertThrows(IllegalArgumentException.class, () -> tree.removeWord(null));
+	}
+	
+	@Test
+	void removePrefix(){
+		for (String word : WORDS) {
+			tree.insertWord(word);
+		}
+		tree.enableReverseIndex();
+		assertEquals(3, tree.removePrefix("bu"));
+		assertEquals(0, tree.removePrefix("bu"));
+		assertEquals(0, tree.removePrefix("x"));
+		assertEquals(WORDS.length - 3, tree.size());
+		assertFalse(tree.containsPrefix("b"));
+		assertEquals(List.of("aux", "ete"), tree.getWordsOfLength(3));
+		assertEquals(List.of("as"), tree.getWordsEndingWith("s"));
+		
+		assertEquals(2, tree.removePrefix("et"));
+		assertEquals(List.of("aide", "as", "au", "aux"), tree.getWords(""));
+		assertEquals(List.of("aide"), tree.getWordsEndingWith("e"));
+		
+		assertEquals(4, tree.removePrefix(""));
+		assertEquals(0, tree.size());
+		assertEquals(0, tree.getWords("").size());
+		assertEquals(0, tree.getWordsEndingWith("").size());
+		tree.insertWord("test");
+		assertEquals(List.of("test"), tree.getWordsEndingWith("t"));
+	}
+	
+	@Test
+	void removeWordsSameAsNeverInserted(){
+		LexicographicTree expected = new LexicographicTree();
+		List<String> words = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			StringBuilder word = new StringBuilder();
+			for (char digit : Integer.toString(i * 7919 % 100003, 26).toCharArray()) {
+				word.append((char) ('a' + Character.digit(digit, 26)));
+			}
+			words.add(word.toString());
+			tree.insertWord(word.toString());
+			if (i % 3 != 0) expected.insertWord(word.toString());
+		}
+		for (int i = 0; i < words.size(); i += 3) {
+			tree.removeWord(words.get(i));
+		}
+		assertEquals(expected.size(), tree.size());
+		assertEquals(expected.getWords(""), tree.getWords(""));
+		for (int length = 1; length <= 5; length++) {
+			assertEquals(expected.getWordsOfLength(length), tree.getWordsOfLength(length));
+		}
+		for (String prefix : new String[] {"a", "b", "bc", "ee", "dj"}) {
+			assertEquals(expected.countWithPrefix(prefix), tree.countWithPrefix(prefix));
+		}
+	}
+	//endregion
+
+	//region reverse index
+	@Test
+	void getWordsEndingWith(){
+		tree.insertWord("test");
+		tree.insertWord("tests");
+		tree.insertWord("soda");
+		assertThrows(IllegalStateException.class, () -> tree.getWordsEndingWith("a"));
+		tree.enableReverseIndex();
+		tree.insertWord("coca");
+		tree.insertWord("aha");
+		assertEquals(List.of("aha", "coca", "soda"), tree.getWordsEndingWith("a"));
+		assertEquals(List.of("coca"), tree.getWordsEndingWith("ca"));
+		assertEquals(List.of("tests"), tree.getWordsEndingWith("s"));
+		assertEquals(tree.getWords(""), tree.getWordsEndingWith(""));
+		assertEquals(0, tree.getWordsEndingWith("x").size());
+		assertThrows(IllegalArgumentException.class, () -> tree.getWordsEndingWith(null));
+	}
+	
+	@Test
+	void containsSubstring(){
+		assertTrue(DICT.containsSubstring("id"));
+		assertTrue(DICT.containsSubstring("ux"));
+		assertTrue(DICT.containsSubstring("te"));
+		assertTrue(DICT.containsSubstring("aide"));
+		assertTrue(DICT.containsSubstring(""));
+		assertFalse(DICT.containsSubstring("aides"));
+		assertFalse(DICT.containsSubstring("ub"));
+		assertFalse(tree.containsSubstring(""));
+		assertThrows(IllegalArgumentException.class, () -> DICT.containsSubstring(null));
+	}
+	//endregion
+
+	//region match
+	@Test
+	void matchWildcards(){
+		assertEquals(List.of("bus", "but"), DICT.match("bu?").collect(Collectors.toList()));
+		assertEquals(List.of("au", "aux", "bu", "bus", "but"), DICT.match("?u*").collect(Collectors.toList()));
+		assertEquals(List.of("aide", "ete"), DICT.match("*e").collect(Collectors.toList()));
+		assertEquals(List.of("bus", "but"), DICT.match("[ab]u[s-t]").collect(Collectors.toList()));
+		assertEquals(List.of("aux", "ete"), DICT.match("[^b]??").collect(Collectors.toList()));
+		assertEquals(WORDS.length, DICT.match("*").count());
+		assertEquals(0, DICT.match("").count());
+		assertEquals(List.of("as"), DICT.match("a*").limit(2).skip(1).collect(Collectors.toList()));
+		assertThrows(IllegalArgumentException.class, () -> DICT.match("a[bc"));
+		assertThrows(IllegalArgumentException.class, () -> DICT.match((String) null));
+	}
+	
+	@Test
+	void matchSameAsFilteredWords(){
+		for (String pattern : new String[] {"*", "?", "??", "a*e", "*u*", "[a-c]*", "[^a]*[st]", "b**s", "e?e", "*x", "???*"}) {
+			WordPattern compiled = WordPattern.compile(pattern);
+			List<String> expected = new ArrayList<>();
+			for (String word : DICT.getWords("")) {
+				if (compiled.matches(word)) expected.add(word);
+			}
+			assertEquals(expected, DICT.match(compiled).collect(Collectors.toList()), pattern);
+		}
+	}
+	//endregion
+
 	//region getWordsOfLength
 	@Test
 	void getWordsOfLengthEmptyTree(){
@@ -363,6 +816,22 @@ public class LexicographicTreeTest {
 		assertEquals(0, tree.getWordsOfLength(3).size());
 	}
 
+	@Test
+	void getWordsOfLengthSameAsFilteredWords(){
+		tree.insertWord("test");
+		tree.insertWord("tests");
+		tree.insertWord("t-shirt");
+		tree.insertWord("sodonium");
+		tree.insertWord("so");
+		for (int length = 1; length <= 9; length++) {
+			List<String> expected = new ArrayList<>();
+			for (String word : tree.getWords("")) {
+				if (word.length() == length) expected.add(word);
+			}
+			assertEquals(expected, tree.getWordsOfLength(length));
+		}
+	}
+
 	@Test
 	void getWordOfNullLength(){
 		tree.insertWord("test");
@@ -401,6 +870,33 @@ public class LexicographicTreeTest {
 
 
 	//region Utils methods
+	private static boolean canWrite(String word, String letters) {
+		StringBuilder available = new StringBuilder(letters);
+		for (char c : word.toCharArray()) {
+			int index = available.indexOf(String.valueOf(c));
+			if (index < 0) index = available.indexOf("?");
+			if (index < 0) return false;
+			available.deleteCharAt(index);
+		}
+		return true;
+	}
+	
+	private static int levenshtein(String a, String b) {
+		int[][] distances = new int[a.length() + 1][b.length() + 1];
+		for (int i = 0; i <= a.length(); i++) {
+			for (int j = 0; j <= b.length(); j++) {
+				if (i == 0 || j == 0) {
+					distances[i][j] = i + j;
+				} else {
+					int substitution = distances[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+					distances[i][j] = Math.min(substitution, Math.min(distances[i - 1][j], distances[i][j - 1]) + 1);
+				}
+			}
+		}
+		return distances[a.length()][b.length()];
+	}
+	
+
 	/*private void add1500WordsInTree(LexicographicTree tree2){
 		String path = "test/resources/dictionnaire_FR_sans_accents.txt";
 		try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
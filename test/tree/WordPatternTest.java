@@ -0,0 +1,42 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordPatternTest {
+	
+	@Test
+	void matches_General() {
+		assertTrue(WordPattern.compile("c?a*").matches("chaton"));
+		assertTrue(WordPattern.compile("c?a*").matches("cha"));
+		assertFalse(WordPattern.compile("c?a*").matches("ca"));
+		assertTrue(WordPattern.compile("*").matches(""));
+		assertTrue(WordPattern.compile("").matches(""));
+		assertFalse(WordPattern.compile("").matches("a"));
+		assertTrue(WordPattern.compile("a**b*c").matches("aXbYYc"));
+		assertFalse(WordPattern.compile("a*b*c").matches("acb"));
+	}
+	
+	@Test
+	void matches_Classes() {
+		WordPattern pattern = WordPattern.compile("[a-ce]x[^aeiou]");
+		assertTrue(pattern.matches("bxt"));
+		assertTrue(pattern.matches("exz"));
+		assertFalse(pattern.matches("dxt"));
+		assertFalse(pattern.matches("axe"));
+		assertTrue(WordPattern.compile("[]a]").matches("]"));
+		assertTrue(WordPattern.compile("[a-]").matches("-"));
+		assertTrue(WordPattern.compile("l[']?").matches("l'a"));
+	}
+	
+	@Test
+	void compile_Invalid() {
+		assertThrows(IllegalArgumentException.class, () -> WordPattern.compile(null));
+		assertThrows(IllegalArgumentException.class, () -> WordPattern.compile("a[bc"));
+		assertThrows(IllegalArgumentException.class, () -> WordPattern.compile("["));
+		assertThrows(IllegalArgumentException.class, () -> WordPattern.compile("[^"));
+		assertThrows(IllegalArgumentException.class, () -> WordPattern.compile("[z-a]"));
+		assertThrows(IllegalArgumentException.class, () -> WordPattern.compile("?".repeat(64)));
+		assertEquals("c?a*", WordPattern.compile("c?a*").toString());
+	}
+}